@@ -55,6 +55,26 @@ public @interface Excel {
      */
     int bufferSize() default 2048;
 
+    /**
+     * How many shared strings are cached in memory when imported,
+     * if greater than 0, the shared strings table is written to a temporary file
+     * and only the most recently used strings are kept in memory,
+     * otherwise the whole table is loaded into memory,
+     * only for xlsx
+     *
+     * @return sstCacheSize
+     */
+    int sstCacheSize() default -1;
+
+    /**
+     * Whether to read xls files record by record instead of loading the whole workbook into memory,
+     * the workbook is not available to the read listeners when enabled,
+     * only for xls
+     *
+     * @return streamingXls
+     */
+    boolean streamingXls() default false;
+
     /**
      * Excel head row height
      *
@@ -4,25 +4,28 @@ import cn.gjing.tools.excel.exception.ExcelInitException;
 import cn.gjing.tools.excel.exception.ExcelTemplateException;
 import cn.gjing.tools.excel.metadata.ExcelFieldProperty;
 import cn.gjing.tools.excel.metadata.ExcelType;
+import cn.gjing.tools.excel.metadata.bind.ExcelClassMetadata;
 import cn.gjing.tools.excel.read.ExcelReaderContext;
 import cn.gjing.tools.excel.read.resolver.ExcelBindReader;
-import cn.gjing.tools.excel.util.BeanUtils;
+import cn.gjing.tools.excel.read.resolver.ExcelColumnarReader;
+import cn.gjing.tools.excel.read.resolver.ExcelSimpleReader;
 import cn.gjing.tools.excel.util.ParamUtils;
 import cn.gjing.tools.excel.write.ExcelWriterContext;
 import cn.gjing.tools.excel.write.resolver.ExcelBindWriter;
 import cn.gjing.tools.excel.write.resolver.ExcelSimpleWriter;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Excel factory
@@ -93,9 +96,10 @@ public final class ExcelFactory {
         ParamUtils.requireNonNull(excelClass, "Excel mapping class cannot be null");
         Excel excel = excelClass.getAnnotation(Excel.class);
         ParamUtils.requireNonNull(excel, "@Excel annotation was not found on the " + excelClass);
-        List<ExcelFieldProperty> properties = new ArrayList<>();
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(excelClass);
+        List<ExcelFieldProperty> properties = metadata.getFieldProperties(ignores);
         ExcelWriterContext context = new ExcelWriterContext();
-        context.setExcelFields(BeanUtils.getExcelFields(excelClass, ignores, properties));
+        context.setExcelFields(metadata.getExcelFields(ignores));
         context.setExcelClass(excelClass);
         context.setFieldProperties(properties);
         context.setExcelType(excel.type());
@@ -168,7 +172,8 @@ public final class ExcelFactory {
     }
 
     /**
-     * Create an Excel reader
+     * Create an Excel reader,
+     * the upload is transferred to a temporary file that is deleted when the reader is finished or closed
      *
      * @param file       Excel file
      * @param excelClass Excel mapped entity
@@ -178,14 +183,7 @@ public final class ExcelFactory {
      * @return ExcelReader
      */
     public static <R> ExcelBindReader<R> createReader(MultipartFile file, Class<R> excelClass, String... ignores) {
-        try {
-            if (!ParamUtils.isExcel(file.getOriginalFilename())) {
-                throw new ExcelTemplateException("File type does not belong to Excel");
-            }
-            return createReader(file.getInputStream(), excelClass, ignores);
-        } catch (IOException e) {
-            throw new ExcelInitException("Create excel reader error," + e.getMessage());
-        }
+        return spool(file, temp -> createReader(temp, true, excelClass, ignores));
     }
 
     /**
@@ -199,18 +197,13 @@ public final class ExcelFactory {
      * @return ExcelReader
      */
     public static <R> ExcelBindReader<R> createReader(File file, Class<R> excelClass, String... ignores) {
-        try {
-            if (!ParamUtils.isExcel(file.getName())) {
-                throw new ExcelTemplateException("File type does not belong to Excel");
-            }
-            return createReader(new FileInputStream(file), excelClass, ignores);
-        } catch (IOException e) {
-            throw new ExcelInitException("Create excel reader error," + e.getMessage());
-        }
+        checkFile(file);
+        return createReader(file, false, excelClass, ignores);
     }
 
     /**
-     * Create an Excel reader
+     * Create an Excel reader, an xlsx stream is copied to a temporary file before it is read,
+     * prefer the {@link File} overload when the workbook is already on disk
      *
      * @param inputStream Excel file inputStream
      * @param excelClass  Excel mapped entity
@@ -219,11 +212,198 @@ public final class ExcelFactory {
      * @return ExcelReader
      */
     public static <R> ExcelBindReader<R> createReader(InputStream inputStream, Class<R> excelClass, String... ignores) {
+        Excel excel = getExcel(excelClass);
+        return new ExcelBindReader<>(createReaderContext(excelClass, excel, ignores), inputStream, excel);
+    }
+
+    /**
+     * Create an Excel columnar reader, the body is read into one column vector per excel field,
+     * the upload is transferred to a temporary file that is deleted when the reader is finished or closed
+     *
+     * @param file       Excel file
+     * @param excelClass Excel mapped entity
+     * @param ignores    The name of the header to be ignored during import.
+     *                   If it is the parent header, all children below it will be ignored
+     * @param <R>        Entity type
+     * @return ExcelColumnarReader
+     */
+    public static <R> ExcelColumnarReader<R> createColumnarReader(MultipartFile file, Class<R> excelClass, String... ignores) {
+        return spool(file, temp -> {
+            Excel excel = getExcel(excelClass);
+            return new ExcelColumnarReader<>(createReaderContext(excelClass, excel, ignores), temp, true, excel);
+        });
+    }
+
+    /**
+     * Create an Excel columnar reader, the body is read into one column vector per excel field
+     *
+     * @param file       Excel file
+     * @param excelClass Excel mapped entity
+     * @param ignores    The name of the header to be ignored during import.
+     *                   If it is the parent header, all children below it will be ignored
+     * @param <R>        Entity type
+     * @return ExcelColumnarReader
+     */
+    public static <R> ExcelColumnarReader<R> createColumnarReader(File file, Class<R> excelClass, String... ignores) {
+        checkFile(file);
+        Excel excel = getExcel(excelClass);
+        return new ExcelColumnarReader<>(createReaderContext(excelClass, excel, ignores), file, false, excel);
+    }
+
+    /**
+     * Create an Excel columnar reader, the body is read into one column vector per excel field
+     *
+     * @param inputStream Excel file inputStream
+     * @param excelClass  Excel mapped entity
+     * @param ignores     Ignore the array of actual Excel table headers that you read when importing
+     * @param <R>         Entity type
+     * @return ExcelColumnarReader
+     */
+    public static <R> ExcelColumnarReader<R> createColumnarReader(InputStream inputStream, Class<R> excelClass, String... ignores) {
+        Excel excel = getExcel(excelClass);
+        return new ExcelColumnarReader<>(createReaderContext(excelClass, excel, ignores), inputStream, excel);
+    }
+
+    /**
+     * Create an Excel simple reader, the rows are read by col index without a mapped entity,
+     * the upload is transferred to a temporary file that is deleted when the reader is finished or closed.
+     * The excel type is detected from the content, so the upload may have any file name
+     *
+     * @param file Excel file
+     * @return ExcelSimpleReader
+     */
+    public static ExcelSimpleReader createSimpleReader(MultipartFile file) {
+        return transfer(file, temp -> new ExcelSimpleReader(createSimpleReaderContext(), temp, true, getExcelType(temp)));
+    }
+
+    /**
+     * Create an Excel simple reader, the rows are read by col index without a mapped entity
+     *
+     * @param file Excel file
+     * @return ExcelSimpleReader
+     */
+    public static ExcelSimpleReader createSimpleReader(File file) {
+        checkFile(file);
+        return new ExcelSimpleReader(createSimpleReaderContext(), file, false, getExcelType(file));
+    }
+
+    /**
+     * Create an Excel simple reader, the rows are read by col index without a mapped entity
+     *
+     * @param inputStream Excel file inputStream
+     * @param excelType   Excel file type
+     * @return ExcelSimpleReader
+     */
+    public static ExcelSimpleReader createSimpleReader(InputStream inputStream, ExcelType excelType) {
+        return new ExcelSimpleReader(createSimpleReaderContext(), inputStream, excelType);
+    }
+
+    /**
+     * Create an Excel reader that opens the file in place
+     *
+     * @param file       Excel file
+     * @param deleteFile Whether to delete the file when the reader is finished
+     * @param excelClass Excel mapped entity
+     * @param ignores    Ignore the array of actual Excel table headers that you read when importing
+     * @param <R>        Entity type
+     * @return ExcelReader
+     */
+    private static <R> ExcelBindReader<R> createReader(File file, boolean deleteFile, Class<R> excelClass, String... ignores) {
+        Excel excel = getExcel(excelClass);
+        return new ExcelBindReader<>(createReaderContext(excelClass, excel, ignores), file, deleteFile, excel);
+    }
+
+    /**
+     * Transfer the upload to a temporary file and create the reader on it.
+     * An upload the container already stored on disk is moved rather than copied, an upload held in memory is written once.
+     * The upload cannot be read again afterwards, use the {@link File} overloads on a copy if it is still needed.
+     * The file is deleted when the reader is finished or closed, or when it could not be created
+     *
+     * @param file    Upload file
+     * @param factory Creates the reader on the temporary file
+     * @param <T>     Reader type
+     * @return Reader
+     */
+    private static <T> T spool(MultipartFile file, Function<File, T> factory) {
+        if (!ParamUtils.isExcel(file.getOriginalFilename())) {
+            throw new ExcelTemplateException("File type does not belong to Excel");
+        }
+        return transfer(file, factory);
+    }
+
+    /**
+     * Transfer the upload to a temporary file and create the reader on it without checking the file name
+     *
+     * @param file    Upload file
+     * @param factory Creates the reader on the temporary file
+     * @param <T>     Reader type
+     * @return Reader
+     */
+    private static <T> T transfer(MultipartFile file, Function<File, T> factory) {
+        File temp;
+        try {
+            temp = File.createTempFile("excel-upload", null);
+        } catch (IOException e) {
+            throw new ExcelInitException("Create excel reader error," + e.getMessage());
+        }
+        try {
+            file.transferTo(temp);
+            return factory.apply(temp);
+        } catch (IOException e) {
+            temp.delete();
+            throw new ExcelInitException("Create excel reader error," + e.getMessage());
+        } catch (RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+    }
+
+    private static void checkFile(File file) {
+        if (!ParamUtils.isExcel(file.getName())) {
+            throw new ExcelTemplateException("File type does not belong to Excel");
+        }
+        if (!file.isFile()) {
+            throw new ExcelInitException("Create excel reader error," + file + " is not found");
+        }
+    }
+
+    /**
+     * Detect the excel type from the content of the file, the file name of an upload may be missing or not match the content
+     *
+     * @param file Excel file
+     * @return ExcelType
+     */
+    private static ExcelType getExcelType(File file) {
+        FileMagic fileMagic;
+        try {
+            fileMagic = FileMagic.valueOf(file);
+        } catch (IOException e) {
+            throw new ExcelInitException("Create excel reader error," + e.getMessage());
+        }
+        switch (fileMagic) {
+            case OLE2:
+                return ExcelType.XLS;
+            case OOXML:
+                return ExcelType.XLSX;
+            default:
+                throw new ExcelTemplateException("File type does not belong to Excel");
+        }
+    }
+
+    private static ExcelReaderContext<Object> createSimpleReaderContext() {
+        return new ExcelReaderContext<>(Object.class, Collections.emptyMap(), null);
+    }
+
+    private static Excel getExcel(Class<?> excelClass) {
         ParamUtils.requireNonNull(excelClass, "Excel mapping class cannot be null");
         Excel excel = excelClass.getAnnotation(Excel.class);
         ParamUtils.requireNonNull(excel, "@Excel annotation was not found on the " + excelClass);
-        ExcelReaderContext<R> readerContext = new ExcelReaderContext<>(excelClass, BeanUtils.getExcelFieldsMap(excelClass), ignores);
+        return excel;
+    }
+
+    private static <R> ExcelReaderContext<R> createReaderContext(Class<R> excelClass, Excel excel, String... ignores) {
+        ExcelReaderContext<R> readerContext = new ExcelReaderContext<>(excelClass, ExcelClassMetadata.of(excelClass).getExcelFieldMap(), ignores);
         readerContext.setUniqueKey("".equals(excel.uniqueKey()) ? excelClass.getName() : excel.uniqueKey());
-        return new ExcelBindReader<>(readerContext, inputStream, excel);
+        return readerContext;
     }
 }
@@ -1,7 +1,12 @@
 package cn.gjing.tools.excel.convert;
 
+import cn.gjing.tools.excel.metadata.annotation.CopyEntity;
+
 /**
- * A data converter that converts the value of a specified field to the content of a cell read
+ * A data converter that converts the value of a specified field to the content of a cell read.
+ * The entity handed to the converter is the live entity of the current row,
+ * annotate the converter with {@link CopyEntity} if it needs a detached copy.
+ * One instance of each converter class is created per reader or writer, a pipelined read calls it from several threads
  *
  * @author Gjing
  **/
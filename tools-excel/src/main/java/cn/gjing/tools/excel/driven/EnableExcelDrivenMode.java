@@ -17,4 +17,25 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 @Import({ExcelDrivenConfiguration.class})
 public @interface EnableExcelDrivenMode {
+    /**
+     * Number of asynchronous {@link ExcelRead} imports running at the same time
+     *
+     * @return threads
+     */
+    int asyncThreads() default 2;
+
+    /**
+     * Number of asynchronous imports waiting for a worker,
+     * further imports are rejected until the queue drains
+     *
+     * @return queue capacity
+     */
+    int asyncQueueCapacity() default 16;
+
+    /**
+     * Number of finished asynchronous imports kept for the status lookup
+     *
+     * @return retained jobs
+     */
+    int asyncRetainedJobs() default 256;
 }
@@ -4,7 +4,11 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportAware;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.lang.NonNull;
 import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
@@ -16,8 +20,18 @@ import java.util.List;
  * @author Gjing
  **/
 @Configuration
-class ExcelDrivenConfiguration implements ApplicationContextAware, InitializingBean {
+class ExcelDrivenConfiguration implements ApplicationContextAware, InitializingBean, ImportAware {
     private ApplicationContext applicationContext;
+    private AnnotationAttributes enableAttributes;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExcelReadJobExecutor excelReadJobExecutor() {
+        if (this.enableAttributes == null) {
+            return new ExcelReadJobExecutor(2, 16, 256);
+        }
+        return new ExcelReadJobExecutor(this.enableAttributes.getNumber("asyncThreads"),
+                this.enableAttributes.getNumber("asyncQueueCapacity"), this.enableAttributes.getNumber("asyncRetainedJobs"));
+    }
 
     @Override
     public void afterPropertiesSet() throws Exception {
@@ -25,7 +39,7 @@ class ExcelDrivenConfiguration implements ApplicationContextAware, InitializingB
         List<HandlerMethodReturnValueHandler> returnValueHandlers = handlerAdapter.getReturnValueHandlers();
         List<HandlerMethodReturnValueHandler> valueHandlers = new ArrayList<>();
         valueHandlers.add(new ExcelDrivenWriteHandler());
-        valueHandlers.add(new ExcelDrivenReadHandler());
+        valueHandlers.add(new ExcelDrivenReadHandler(this.applicationContext.getBean(ExcelReadJobExecutor.class)));
         if (returnValueHandlers != null) {
             valueHandlers.addAll(returnValueHandlers);
         }
@@ -36,4 +50,9 @@ class ExcelDrivenConfiguration implements ApplicationContextAware, InitializingB
     public void setApplicationContext(@NonNull ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
     }
+
+    @Override
+    public void setImportMetadata(@NonNull AnnotationMetadata importMetadata) {
+        this.enableAttributes = AnnotationAttributes.fromMap(importMetadata.getAnnotationAttributes(EnableExcelDrivenMode.class.getName()));
+    }
 }
@@ -1,20 +1,40 @@
 package cn.gjing.tools.excel.driven;
 
+import cn.gjing.tools.excel.Excel;
 import cn.gjing.tools.excel.ExcelFactory;
+import cn.gjing.tools.excel.exception.ExcelInitException;
 import cn.gjing.tools.excel.exception.ExcelResolverException;
+import cn.gjing.tools.excel.metadata.ExcelType;
+import cn.gjing.tools.excel.read.listener.ExcelBatchReadListener;
 import cn.gjing.tools.excel.read.resolver.ExcelBindReader;
+import cn.gjing.tools.excel.util.ParamUtils;
 import org.springframework.core.MethodParameter;
 import org.springframework.lang.NonNull;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
 /**
  * Excel annotation-driven read handler
  *
  * @author Gjing
  **/
 class ExcelDrivenReadHandler implements HandlerMethodReturnValueHandler {
+    private final ExcelReadJobExecutor jobExecutor;
+
+    ExcelDrivenReadHandler(ExcelReadJobExecutor jobExecutor) {
+        this.jobExecutor = jobExecutor;
+    }
+
     @Override
     public boolean supportsReturnType(MethodParameter methodParameter) {
         return methodParameter.hasMethodAnnotation(ExcelRead.class);
@@ -29,17 +49,95 @@ class ExcelDrivenReadHandler implements HandlerMethodReturnValueHandler {
             ExcelRead readAnno = methodParameter.getMethodAnnotation(ExcelRead.class);
             assert readAnno != null;
             ExcelReadWrapper wrapper = (ExcelReadWrapper) o;
-            ExcelBindReader<?> reader = ExcelFactory.createReader(wrapper.getInputStream(), wrapper.getMapping(), wrapper.getIgnores() == null ? readAnno.ignores() : wrapper.getIgnores());
-            if (readAnno.check()) {
-                reader.check(wrapper.getUnqKey());
+            if (readAnno.async()) {
+                this.submit(wrapper, readAnno, nativeWebRequest.getNativeResponse(HttpServletResponse.class));
+                return;
             }
-            reader.addListener(wrapper.getReadListeners())
-                    .subscribe(wrapper.getResultReadListener())
-                    .headBefore(readAnno.headBefore())
-                    .read(readAnno.headerIndex(), readAnno.value())
-                    .finish();
+            ExcelBindReader<?> reader = ExcelFactory.createReader(wrapper.getInputStream(), wrapper.getMapping(), wrapper.getIgnores() == null ? readAnno.ignores() : wrapper.getIgnores());
+            this.read(reader, wrapper, readAnno);
             return;
         }
         throw new ExcelResolverException("Method return value type must be ExcelReadWrapper: " + methodParameter.getExecutable().getName());
     }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void read(ExcelBindReader reader, ExcelReadWrapper wrapper, ExcelRead readAnno) {
+        if (readAnno.check()) {
+            reader.check(wrapper.getUnqKey());
+        }
+        reader.addListener(wrapper.getReadListeners())
+                .subscribe(wrapper.getResultReadListener())
+                .headBefore(readAnno.headBefore())
+                .read(readAnno.headerIndex(), readAnno.value())
+                .finish();
+    }
+
+    /**
+     * Save the upload to a temporary file while the request is still open and queue the import,
+     * the job id is written to the response
+     *
+     * @param wrapper  Read wrapper
+     * @param readAnno ExcelRead annotation
+     * @param response Current response
+     * @throws IOException Write response error
+     */
+    private void submit(ExcelReadWrapper<?> wrapper, ExcelRead readAnno, HttpServletResponse response) throws IOException {
+        File temp = this.spool(wrapper);
+        ExcelReadJob job;
+        try {
+            job = this.jobExecutor.submit(wrapper.getMapping(), e -> {
+                try {
+                    ExcelBindReader<?> reader = ExcelFactory.createReader(temp, wrapper.getMapping(), wrapper.getIgnores() == null ? readAnno.ignores() : wrapper.getIgnores());
+                    try {
+                        reader.addListener(new ExcelBatchReadListener<Object>() {
+                            @Override
+                            public void readBatch(List<Object> batch) {
+                                e.rowsRead(batch.size());
+                            }
+
+                            @Override
+                            public int batchSize() {
+                                return ExcelReadJob.PROGRESS_ROWS;
+                            }
+                        });
+                        this.read(reader, wrapper, readAnno);
+                    } finally {
+                        reader.finish();
+                    }
+                } finally {
+                    temp.delete();
+                }
+            });
+        } catch (RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+        response.setStatus(HttpServletResponse.SC_ACCEPTED);
+        response.setContentType("application/json;charset=utf-8");
+        response.getOutputStream().write(("{\"jobId\":\"" + job.getId() + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private File spool(ExcelReadWrapper<?> wrapper) {
+        if (wrapper.getInputStream() == null) {
+            throw new ExcelInitException("Excel read wrapper has no data");
+        }
+        String suffix;
+        if (ParamUtils.isExcel(wrapper.getFileName())) {
+            suffix = wrapper.getFileName().substring(wrapper.getFileName().lastIndexOf('.'));
+        } else {
+            Excel excel = wrapper.getMapping().getAnnotation(Excel.class);
+            suffix = excel != null && excel.type() == ExcelType.XLSX ? ".xlsx" : ".xls";
+        }
+        File temp = null;
+        try (InputStream inputStream = wrapper.getInputStream()) {
+            temp = File.createTempFile("excel-read", suffix);
+            Files.copy(inputStream, temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return temp;
+        } catch (IOException e) {
+            if (temp != null) {
+                temp.delete();
+            }
+            throw new ExcelInitException("Save excel upload error," + e.getMessage());
+        }
+    }
 }
@@ -59,4 +59,14 @@ public @interface ExcelRead {
      * @return headerIndex
      */
     int headerIndex() default 0;
+
+    /**
+     * Whether to import on the job executor instead of the request thread.
+     * The upload is saved to a temporary file and the endpoint responds 202 with the job id right away,
+     * the progress can be looked up through {@link ExcelReadJobExecutor#getJob(String)}.
+     * Read listeners are called on the job thread, so they must not depend on the request
+     *
+     * @return async
+     */
+    boolean async() default false;
 }
@@ -0,0 +1,123 @@
+package cn.gjing.tools.excel.driven;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State of an asynchronous {@link ExcelRead} import
+ *
+ * @author Gjing
+ **/
+@Getter
+@ToString
+public final class ExcelReadJob {
+    /**
+     * Job id returned to the caller of the import endpoint
+     */
+    private final String id;
+
+    /**
+     * Excel mapping entity
+     */
+    private final Class<?> mapping;
+
+    /**
+     * Time the job was accepted
+     */
+    private final long createTime;
+
+    /**
+     * Time the job started to read, 0 while pending
+     */
+    private volatile long startTime;
+
+    /**
+     * Time the job ended, 0 while pending or running
+     */
+    private volatile long endTime;
+
+    private volatile Status status;
+
+    /**
+     * Failure message when the job is failed
+     */
+    private volatile String message;
+
+    /**
+     * Number of rows between two progress updates
+     */
+    static final int PROGRESS_ROWS = 100;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong readRows = new AtomicLong();
+
+    ExcelReadJob(String id, Class<?> mapping) {
+        this.id = id;
+        this.mapping = mapping;
+        this.createTime = System.currentTimeMillis();
+        this.status = Status.PENDING;
+    }
+
+    /**
+     * Number of body rows read so far, it is updated every {@link #PROGRESS_ROWS} rows and when the sheet is finished
+     *
+     * @return rows
+     */
+    public long getReadRows() {
+        return this.readRows.get();
+    }
+
+    /**
+     * Whether the job is done or failed
+     *
+     * @return boolean
+     */
+    public boolean isFinished() {
+        return this.status == Status.DONE || this.status == Status.FAILED;
+    }
+
+    void start() {
+        this.startTime = System.currentTimeMillis();
+        this.status = Status.RUNNING;
+    }
+
+    void rowsRead(int rows) {
+        this.readRows.addAndGet(rows);
+    }
+
+    void done() {
+        this.endTime = System.currentTimeMillis();
+        this.status = Status.DONE;
+    }
+
+    void fail(Throwable e) {
+        this.message = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+        this.endTime = System.currentTimeMillis();
+        this.status = Status.FAILED;
+    }
+
+    /**
+     * Job status
+     */
+    public enum Status {
+        /**
+         * Waiting in the queue
+         */
+        PENDING,
+        /**
+         * Reading
+         */
+        RUNNING,
+        /**
+         * Read finished
+         */
+        DONE,
+        /**
+         * Read failed, see {@link ExcelReadJob#getMessage()}
+         */
+        FAILED
+    }
+}
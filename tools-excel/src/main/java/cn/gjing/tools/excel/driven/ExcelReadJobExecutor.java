@@ -0,0 +1,145 @@
+package cn.gjing.tools.excel.driven;
+
+import cn.gjing.tools.excel.exception.ExcelRejectedException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the asynchronous {@link ExcelRead} imports on a bounded pool and keeps their state for lookup.
+ * Imports are rejected with {@link ExcelRejectedException} once all workers are busy and the queue is full,
+ * the state of the most recent finished jobs is kept until it is evicted by newer ones
+ *
+ * @author Gjing
+ **/
+public final class ExcelReadJobExecutor {
+    private static final Log LOG = LogFactory.getLog(ExcelReadJobExecutor.class);
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final int retainedJobs;
+    private final Map<String, ExcelReadJob> jobs = new ConcurrentHashMap<>(64);
+    private final Queue<String> finishedJobs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger finishedCount = new AtomicInteger();
+
+    /**
+     * Create a job executor
+     *
+     * @param threads       Number of imports running at the same time
+     * @param queueCapacity Number of imports waiting for a worker
+     * @param retainedJobs  Number of finished jobs kept for lookup
+     */
+    public ExcelReadJobExecutor(int threads, int queueCapacity, int retainedJobs) {
+        if (threads < 1 || queueCapacity < 0 || retainedJobs < 0) {
+            throw new IllegalArgumentException("Invalid excel read job executor, threads: " + threads
+                    + ", queue capacity: " + queueCapacity + ", retained jobs: " + retainedJobs);
+        }
+        this.queueCapacity = queueCapacity;
+        this.retainedJobs = retainedJobs;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                queueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, "excel-read-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Get the state of a job
+     *
+     * @param id Job id
+     * @return Job, null if the id is unknown or the job was evicted
+     */
+    public ExcelReadJob getJob(String id) {
+        return id == null ? null : this.jobs.get(id);
+    }
+
+    /**
+     * Number of imports running
+     *
+     * @return count
+     */
+    public int getActiveCount() {
+        return this.executor.getActiveCount();
+    }
+
+    /**
+     * Number of imports waiting for a worker
+     *
+     * @return count
+     */
+    public int getQueueSize() {
+        return this.executor.getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    /**
+     * Stop accepting imports, the running and queued ones are finished
+     */
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * Queue an import
+     *
+     * @param mapping Excel mapping entity
+     * @param task    Reads the excel and reports the progress to the job
+     * @return Job
+     * @throws ExcelRejectedException If the queue is full
+     */
+    ExcelReadJob submit(Class<?> mapping, Consumer<ExcelReadJob> task) {
+        ExcelReadJob job = new ExcelReadJob(UUID.randomUUID().toString().replace("-", ""), mapping);
+        this.jobs.put(job.getId(), job);
+        try {
+            this.executor.execute(() -> this.run(job, task));
+        } catch (RejectedExecutionException e) {
+            this.jobs.remove(job.getId());
+            throw new ExcelRejectedException("Excel import rejected, " + this.executor.getMaximumPoolSize()
+                    + " imports are running and " + this.queueCapacity + " are waiting");
+        }
+        return job;
+    }
+
+    private void run(ExcelReadJob job, Consumer<ExcelReadJob> task) {
+        job.start();
+        try {
+            task.accept(job);
+            job.done();
+        } catch (Throwable e) {
+            LOG.error("Excel import " + job.getId() + " of " + job.getMapping().getName() + " failed", e);
+            job.fail(e);
+        } finally {
+            this.retain(job);
+        }
+    }
+
+    /**
+     * Keep the finished job for lookup and evict the oldest finished ones over the limit
+     *
+     * @param job Finished job
+     */
+    private void retain(ExcelReadJob job) {
+        this.finishedJobs.offer(job.getId());
+        if (this.finishedCount.incrementAndGet() <= this.retainedJobs) {
+            return;
+        }
+        while (this.finishedCount.get() > this.retainedJobs) {
+            String id = this.finishedJobs.poll();
+            if (id == null) {
+                return;
+            }
+            this.finishedCount.decrementAndGet();
+            this.jobs.remove(id);
+        }
+    }
+}
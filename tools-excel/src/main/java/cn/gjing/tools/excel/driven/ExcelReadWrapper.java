@@ -25,6 +25,7 @@ public class ExcelReadWrapper<R> {
     private List<ExcelReadListener> readListeners;
     private ExcelResultReadListener<R> resultReadListener;
     private InputStream inputStream;
+    private String fileName;
     private String[] ignores;
     private String unqKey;
 
@@ -55,6 +56,7 @@ public class ExcelReadWrapper<R> {
                 throw new ExcelTemplateException("File type does not belong to Excel");
             }
             this.inputStream = file.getInputStream();
+            this.fileName = file.getOriginalFilename();
         } catch (IOException e) {
             throw new ExcelInitException("Initialize read wrapper error," + e.getMessage());
         }
@@ -73,6 +75,7 @@ public class ExcelReadWrapper<R> {
                 throw new ExcelTemplateException("File type does not belong to Excel");
             }
             this.inputStream = new FileInputStream(file);
+            this.fileName = file.getName();
         } catch (FileNotFoundException e) {
             throw new ExcelInitException("Initialize read wrapper error," + e.getMessage());
         }
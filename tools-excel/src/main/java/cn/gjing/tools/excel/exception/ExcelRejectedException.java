@@ -0,0 +1,19 @@
+package cn.gjing.tools.excel.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an asynchronous import is rejected because the executor queue is full,
+ * a driven import answers it with 503 so the client can retry later
+ * @author Gjing
+ **/
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Excel import queue is full")
+public class ExcelRejectedException extends ExcelResolverException {
+    public ExcelRejectedException() {
+    }
+
+    public ExcelRejectedException(String message) {
+        super(message);
+    }
+}
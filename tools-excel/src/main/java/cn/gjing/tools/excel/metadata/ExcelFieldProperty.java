@@ -13,7 +13,7 @@ import lombok.*;
  **/
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ExcelFieldProperty {
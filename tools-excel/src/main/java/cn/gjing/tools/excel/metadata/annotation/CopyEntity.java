@@ -0,0 +1,19 @@
+package cn.gjing.tools.excel.metadata.annotation;
+
+import cn.gjing.tools.excel.convert.DataConvert;
+import cn.gjing.tools.excel.write.callback.ExcelAutoMergeCallback;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a {@link DataConvert} or an {@link ExcelAutoMergeCallback} as needing a detached copy of the entity.
+ * By default the live entity of the current row is handed over, which is cheap but shared with the reader or writer,
+ * the copy is made on every call and costs a full serialization of the entity
+ *
+ * @author Gjing
+ **/
+@Target(ElementType.TYPE)
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CopyEntity {
+}
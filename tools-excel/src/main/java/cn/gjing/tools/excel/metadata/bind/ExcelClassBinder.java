@@ -0,0 +1,119 @@
+package cn.gjing.tools.excel.metadata.bind;
+
+import cn.gjing.tools.excel.ExcelField;
+import cn.gjing.tools.excel.exception.ExcelInitException;
+import cn.gjing.tools.excel.util.BeanUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The binding plan of an excel mapped entity, built once per class and shared by all readers and writers.
+ * Holds the compiled constructor and the compiled accessors of every {@link ExcelField}
+ *
+ * @author Gjing
+ **/
+public final class ExcelClassBinder {
+    private static final ClassValue<ExcelClassBinder> BINDERS = new ClassValue<ExcelClassBinder>() {
+        @Override
+        protected ExcelClassBinder computeValue(Class<?> type) {
+            return new ExcelClassBinder(type);
+        }
+    };
+
+    /**
+     * Current excel mapping entity
+     */
+    private final Class<?> excelClass;
+
+    /**
+     * No-args constructor, the type is ()Object, null if the entity cannot be created
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * The reason why the constructor could not be resolved
+     */
+    private final String constructorError;
+
+    /**
+     * Field binders of the excel fields
+     */
+    private final Map<Field, ExcelFieldBinder> fieldBinders;
+
+    private ExcelClassBinder(Class<?> excelClass) {
+        this.excelClass = excelClass;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = null;
+        String error = null;
+        try {
+            Constructor<?> noArgs = excelClass.getDeclaredConstructor();
+            noArgs.setAccessible(true);
+            handle = lookup.unreflectConstructor(noArgs).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            error = e.toString();
+        }
+        this.constructor = handle;
+        this.constructorError = error;
+        Map<Field, ExcelFieldBinder> binders = new HashMap<>(32);
+        for (Field field : BeanUtils.getAllFields(excelClass)) {
+            if (field.isAnnotationPresent(ExcelField.class)) {
+                binders.put(field, new ExcelFieldBinder(field, lookup));
+            }
+        }
+        this.fieldBinders = Collections.unmodifiableMap(binders);
+    }
+
+    /**
+     * Get the binding plan of the excel mapped entity
+     *
+     * @param excelClass Excel mapped entity
+     * @return ExcelClassBinder
+     */
+    public static ExcelClassBinder of(Class<?> excelClass) {
+        return BINDERS.get(excelClass);
+    }
+
+    public Class<?> getExcelClass() {
+        return excelClass;
+    }
+
+    /**
+     * Create a new instance of the excel mapped entity
+     *
+     * @param <R> Entity type
+     * @return Excel entity
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R newInstance() {
+        if (this.constructor == null) {
+            throw new ExcelInitException("Excel entity init failure, " + this.constructorError);
+        }
+        try {
+            Object o = this.constructor.invokeExact();
+            return (R) o;
+        } catch (Throwable e) {
+            throw new ExcelInitException("Excel entity init failure, " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the binder of the field
+     *
+     * @param field Excel field
+     * @return ExcelFieldBinder
+     */
+    public ExcelFieldBinder getBinder(Field field) {
+        ExcelFieldBinder binder = this.fieldBinders.get(field);
+        if (binder == null) {
+            throw new ExcelInitException("Field " + field.getName() + " is not an excel field of " + this.excelClass);
+        }
+        return binder;
+    }
+}
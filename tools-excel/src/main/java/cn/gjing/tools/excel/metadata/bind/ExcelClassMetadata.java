@@ -0,0 +1,214 @@
+package cn.gjing.tools.excel.metadata.bind;
+
+import cn.gjing.tools.excel.ExcelField;
+import cn.gjing.tools.excel.metadata.ExcelFieldProperty;
+import cn.gjing.tools.excel.util.BeanUtils;
+import cn.gjing.tools.excel.util.ParamUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * The annotation metadata of an excel mapped entity, resolved once per class and shared by all readers and writers.
+ * Holds the sorted excel fields and header properties of every ignore combination,
+ * the import field map and the annotations of every excel field
+ *
+ * @author Gjing
+ **/
+public final class ExcelClassMetadata {
+    private static final ClassValue<ExcelClassMetadata> METADATA = new ClassValue<ExcelClassMetadata>() {
+        @Override
+        protected ExcelClassMetadata computeValue(Class<?> type) {
+            return new ExcelClassMetadata(type);
+        }
+    };
+
+    /**
+     * Maximum number of cached ignore combinations per class, further combinations are resolved on every call
+     */
+    private static final int MAX_IGNORE_COMBINATIONS = 64;
+
+    /**
+     * Current excel mapping entity
+     */
+    private final Class<?> excelClass;
+
+    /**
+     * All excel fields sorted by {@link ExcelField#order()}
+     */
+    private final List<Field> excelFields;
+
+    /**
+     * Excel fields keyed by the real header name plus the title, used when importing, resolved on first use
+     */
+    private volatile Map<String, Field> excelFieldMap;
+
+    /**
+     * Annotations of the excel fields
+     */
+    private final Map<Field, Map<Class<? extends Annotation>, Annotation>> annotations;
+
+    /**
+     * Resolved columns keyed by the ignored header names
+     */
+    private final ConcurrentMap<List<String>, Columns> columnsCache = new ConcurrentHashMap<>(8);
+
+    private ExcelClassMetadata(Class<?> excelClass) {
+        this.excelClass = excelClass;
+        List<Field> fieldList = BeanUtils.getAllFields(excelClass).stream()
+                .filter(e -> e.isAnnotationPresent(ExcelField.class))
+                .collect(Collectors.toList());
+        fieldList.sort(Comparator.comparing(e -> e.getAnnotation(ExcelField.class).order()));
+        this.excelFields = Collections.unmodifiableList(fieldList);
+        Map<Field, Map<Class<? extends Annotation>, Annotation>> annotationMap = new HashMap<>(32);
+        for (Field field : fieldList) {
+            Map<Class<? extends Annotation>, Annotation> fieldAnnotations = new HashMap<>(8);
+            for (Annotation annotation : field.getAnnotations()) {
+                fieldAnnotations.put(annotation.annotationType(), annotation);
+            }
+            annotationMap.put(field, fieldAnnotations);
+        }
+        this.annotations = annotationMap;
+    }
+
+    /**
+     * Get the metadata of the excel mapped entity
+     *
+     * @param excelClass Excel mapped entity
+     * @return ExcelClassMetadata
+     */
+    public static ExcelClassMetadata of(Class<?> excelClass) {
+        return METADATA.get(excelClass);
+    }
+
+    public Class<?> getExcelClass() {
+        return excelClass;
+    }
+
+    /**
+     * Get the excel fields that are not ignored, sorted by {@link ExcelField#order()}
+     *
+     * @param ignores The name of the header to be ignored
+     * @return Unmodifiable excel field list
+     */
+    public List<Field> getExcelFields(String... ignores) {
+        return this.getColumns(ignores).fields;
+    }
+
+    /**
+     * Get the header properties of the excel fields that are not ignored,
+     * the list and the properties are new copies and can be changed by the caller
+     *
+     * @param ignores The name of the header to be ignored
+     * @return Excel field properties
+     */
+    public List<ExcelFieldProperty> getFieldProperties(String... ignores) {
+        List<ExcelFieldProperty> properties = this.getColumns(ignores).properties;
+        List<ExcelFieldProperty> copies = new ArrayList<>(properties.size());
+        for (ExcelFieldProperty property : properties) {
+            copies.add(property.toBuilder().build());
+        }
+        return copies;
+    }
+
+    /**
+     * Get the excel fields keyed by the real header name plus the title
+     *
+     * @return Unmodifiable excel field map
+     */
+    public Map<String, Field> getExcelFieldMap() {
+        Map<String, Field> fieldMap = this.excelFieldMap;
+        if (fieldMap == null) {
+            fieldMap = Collections.unmodifiableMap(this.excelFields.stream()
+                    .collect(Collectors.toMap(e -> {
+                        ExcelField excelField = e.getAnnotation(ExcelField.class);
+                        String[] headArray = excelField.value();
+                        return headArray[headArray.length - 1] + excelField.title();
+                    }, f -> f)));
+            this.excelFieldMap = fieldMap;
+        }
+        return fieldMap;
+    }
+
+    /**
+     * Get an annotation of an excel field
+     *
+     * @param field           Excel field
+     * @param annotationClass Annotation class
+     * @param <A>             Annotation type
+     * @return Annotation, null if not present
+     */
+    @SuppressWarnings("unchecked")
+    public <A extends Annotation> A getAnnotation(Field field, Class<A> annotationClass) {
+        Map<Class<? extends Annotation>, Annotation> fieldAnnotations = this.annotations.get(field);
+        if (fieldAnnotations == null) {
+            return field.getAnnotation(annotationClass);
+        }
+        return (A) fieldAnnotations.get(annotationClass);
+    }
+
+    private Columns getColumns(String[] ignores) {
+        List<String> key = ignores == null || ignores.length == 0 ? Collections.emptyList()
+                : Collections.unmodifiableList(Arrays.asList(ignores.clone()));
+        Columns columns = this.columnsCache.get(key);
+        if (columns != null) {
+            return columns;
+        }
+        columns = new Columns(this.excelFields, ignores);
+        if (this.columnsCache.size() < MAX_IGNORE_COMBINATIONS) {
+            Columns existing = this.columnsCache.putIfAbsent(key, columns);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Excel fields and header properties of an ignore combination
+     */
+    private static final class Columns {
+        private final List<Field> fields;
+        private final List<ExcelFieldProperty> properties;
+
+        private Columns(List<Field> excelFields, String[] ignores) {
+            List<Field> fieldList = new ArrayList<>(excelFields.size());
+            List<ExcelFieldProperty> propertyList = new ArrayList<>(excelFields.size());
+            for (Field field : excelFields) {
+                ExcelField excelField = field.getAnnotation(ExcelField.class);
+                if (isIgnored(excelField, ignores)) {
+                    continue;
+                }
+                fieldList.add(field);
+                propertyList.add(ExcelFieldProperty.builder()
+                        .value(excelField.value())
+                        .title(excelField.title())
+                        .width(excelField.width())
+                        .order(excelField.order())
+                        .format(excelField.format())
+                        .autoMerge(excelField.autoMerge().enable())
+                        .mergeEmpty(excelField.autoMerge().empty())
+                        .mergeCallback(excelField.autoMerge().callback())
+                        .convert(excelField.convert())
+                        .color(excelField.color())
+                        .fontColor(excelField.fontColor())
+                        .build());
+            }
+            this.fields = Collections.unmodifiableList(fieldList);
+            this.properties = propertyList;
+        }
+
+        private static boolean isIgnored(ExcelField excelField, String[] ignores) {
+            for (String name : excelField.value()) {
+                if (ParamUtils.contains(ignores, name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
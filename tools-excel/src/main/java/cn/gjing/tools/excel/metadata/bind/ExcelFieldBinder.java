@@ -0,0 +1,324 @@
+package cn.gjing.tools.excel.metadata.bind;
+
+import cn.gjing.tools.excel.convert.ExcelDataConvert;
+import cn.gjing.tools.excel.exception.ExcelInitException;
+import cn.gjing.tools.excel.exception.ExcelResolverException;
+import cn.gjing.tools.excel.read.valid.ExcelAssert;
+import cn.gjing.tools.excel.util.BeanUtils;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionException;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Compiled setter and getter of an excel entity field.
+ * The method handles are resolved once when the binder is created and reused for every cell,
+ * int, long, double and boolean fields also get an unboxed path.
+ * The EL expressions of {@link ExcelAssert} and {@link ExcelDataConvert} are parsed here once as well,
+ * they are compiled to bytecode after a few evaluations and fall back to interpretation if compilation fails
+ *
+ * @author Gjing
+ **/
+public final class ExcelFieldBinder {
+    private static final ExpressionParser PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, ExcelFieldBinder.class.getClassLoader()));
+
+    /**
+     * Current field
+     */
+    private final Field field;
+
+    /**
+     * Field type
+     */
+    private final Class<?> type;
+
+    /**
+     * Generic setter, the type is (Object, Object)void
+     */
+    private final MethodHandle setter;
+
+    /**
+     * Primitive setter, the type is (Object, primitive)void, null when the field is not int, long, double or boolean
+     */
+    private final MethodHandle primitiveSetter;
+
+    /**
+     * Generic getter, the type is (Object)Object
+     */
+    private final MethodHandle getter;
+
+    /**
+     * Numeric getter, the type is (Object)double, null when the field is not a numeric primitive
+     */
+    private final MethodHandle numericGetter;
+
+    /**
+     * Coercion from numeric and formula cell values to the field type
+     */
+    private final ExcelTypeCoercer coercer;
+
+    /**
+     * Assert annotation on the field
+     */
+    private final ExcelAssert excelAssert;
+
+    /**
+     * Parsed {@link ExcelAssert#expr()}, null if not set
+     */
+    private final Expression assertExpression;
+
+    /**
+     * Parsed {@link ExcelDataConvert#expr2()} used when importing, null if not set
+     */
+    private final Expression importExpression;
+
+    /**
+     * Parsed {@link ExcelDataConvert#expr1()} used when exporting, null if not set
+     */
+    private final Expression exportExpression;
+
+    ExcelFieldBinder(Field field, MethodHandles.Lookup lookup) {
+        this.field = field;
+        this.type = field.getType();
+        this.coercer = new ExcelTypeCoercer(this.type);
+        this.excelAssert = field.getAnnotation(ExcelAssert.class);
+        this.assertExpression = this.excelAssert == null ? null : this.parse(this.excelAssert.expr());
+        ExcelDataConvert excelDataConvert = field.getAnnotation(ExcelDataConvert.class);
+        this.importExpression = excelDataConvert == null ? null : this.parse(excelDataConvert.expr2());
+        this.exportExpression = excelDataConvert == null ? null : this.parse(excelDataConvert.expr1());
+        MethodHandle rawSetter;
+        MethodHandle rawGetter;
+        try {
+            field.setAccessible(true);
+            rawGetter = lookup.unreflectGetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            rawGetter = null;
+        }
+        try {
+            rawSetter = lookup.unreflectSetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            rawSetter = null;
+        }
+        if (rawGetter == null) {
+            this.getter = null;
+            this.numericGetter = null;
+        } else {
+            this.getter = rawGetter.asType(MethodType.methodType(Object.class, Object.class));
+            this.numericGetter = this.isNumeric() ? rawGetter.asType(MethodType.methodType(double.class, Object.class)) : null;
+        }
+        if (rawSetter == null) {
+            this.setter = null;
+            this.primitiveSetter = null;
+            return;
+        }
+        this.setter = rawSetter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        if (this.type == int.class || this.type == long.class || this.type == double.class || this.type == boolean.class) {
+            this.primitiveSetter = rawSetter.asType(MethodType.methodType(void.class, Object.class, this.type));
+        } else {
+            this.primitiveSetter = null;
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public ExcelTypeCoercer getCoercer() {
+        return coercer;
+    }
+
+    public ExcelAssert getExcelAssert() {
+        return excelAssert;
+    }
+
+    public Expression getAssertExpression() {
+        return assertExpression;
+    }
+
+    public Expression getImportExpression() {
+        return importExpression;
+    }
+
+    public Expression getExportExpression() {
+        return exportExpression;
+    }
+
+    /**
+     * Whether the field is a numeric primitive that can be read by {@link #getDouble(Object)} without boxing
+     *
+     * @return boolean
+     */
+    public boolean isNumeric() {
+        return this.type == int.class || this.type == long.class || this.type == double.class
+                || this.type == float.class || this.type == short.class || this.type == byte.class;
+    }
+
+    /**
+     * Gets the value of the field
+     *
+     * @param o Excel entity
+     * @return value
+     */
+    public Object getValue(Object o) {
+        if (this.getter == null) {
+            return BeanUtils.getFieldValue(o, this.field);
+        }
+        try {
+            return (Object) this.getter.invokeExact(o);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Gets the value of a numeric primitive field as double without boxing,
+     * the value can be passed to {@link org.apache.poi.ss.usermodel.Cell#setCellValue(double)} directly
+     *
+     * @param o Excel entity
+     * @return value
+     */
+    public double getDouble(Object o) {
+        if (this.numericGetter == null) {
+            return ((Number) this.getValue(o)).doubleValue();
+        }
+        try {
+            return (double) this.numericGetter.invokeExact(o);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Set the value of the field
+     *
+     * @param o     Excel entity
+     * @param value value
+     */
+    public void setValue(Object o, Object value) {
+        if (this.setter == null) {
+            BeanUtils.setFieldValue(o, this.field, value);
+            return;
+        }
+        try {
+            this.setter.invokeExact(o, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Coerce the value of a numeric cell to the field type and set it,
+     * int, long, double and boolean fields are set without boxing
+     *
+     * @param o     Excel entity
+     * @param value Numeric cell value
+     */
+    public void setNumeric(Object o, double value) {
+        this.coercer.assign(this, o, value);
+    }
+
+    /**
+     * Set the value of an int field without boxing
+     *
+     * @param o     Excel entity
+     * @param value value
+     */
+    public void setInt(Object o, int value) {
+        if (this.type != int.class || this.primitiveSetter == null) {
+            this.setValue(o, value);
+            return;
+        }
+        try {
+            this.primitiveSetter.invokeExact(o, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Set the value of a long field without boxing
+     *
+     * @param o     Excel entity
+     * @param value value
+     */
+    public void setLong(Object o, long value) {
+        if (this.type != long.class || this.primitiveSetter == null) {
+            this.setValue(o, value);
+            return;
+        }
+        try {
+            this.primitiveSetter.invokeExact(o, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Set the value of a double field without boxing
+     *
+     * @param o     Excel entity
+     * @param value value
+     */
+    public void setDouble(Object o, double value) {
+        if (this.type != double.class || this.primitiveSetter == null) {
+            this.setValue(o, value);
+            return;
+        }
+        try {
+            this.primitiveSetter.invokeExact(o, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Set the value of a boolean field without boxing
+     *
+     * @param o     Excel entity
+     * @param value value
+     */
+    public void setBoolean(Object o, boolean value) {
+        if (this.type != boolean.class || this.primitiveSetter == null) {
+            this.setValue(o, value);
+            return;
+        }
+        try {
+            this.primitiveSetter.invokeExact(o, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private Expression parse(String expr) {
+        if ("".equals(expr)) {
+            return null;
+        }
+        try {
+            return PARSER.parseExpression(expr);
+        } catch (ExpressionException e) {
+            throw new ExcelInitException("Invalid EL expression on " + this.field.getName() + ", " + e.getMessage());
+        }
+    }
+
+    static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new ExcelResolverException(e.getMessage());
+    }
+}
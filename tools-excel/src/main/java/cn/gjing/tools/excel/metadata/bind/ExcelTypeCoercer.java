@@ -0,0 +1,195 @@
+package cn.gjing.tools.excel.metadata.bind;
+
+import com.google.gson.Gson;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts the raw value of a numeric or formula cell to the type of an excel field.
+ * The coercion is chosen once from the field type, numeric cells are coerced
+ * without any intermediate string and primitive fields can be assigned without boxing.
+ * The results are the ones of the former Gson round-trip: a numeric cell is rejected by boolean, BigInteger,
+ * date and time fields, a string is rejected by LocalDate and LocalDateTime fields, other types still go through Gson
+ *
+ * @author Gjing
+ **/
+public final class ExcelTypeCoercer {
+    private static final Map<Class<?>, Target> TARGETS = new HashMap<>(32);
+    private static final Gson GSON = new Gson();
+
+    static {
+        TARGETS.put(int.class, Target.INT);
+        TARGETS.put(Integer.class, Target.INT);
+        TARGETS.put(long.class, Target.LONG);
+        TARGETS.put(Long.class, Target.LONG);
+        TARGETS.put(short.class, Target.SHORT);
+        TARGETS.put(Short.class, Target.SHORT);
+        TARGETS.put(byte.class, Target.BYTE);
+        TARGETS.put(Byte.class, Target.BYTE);
+        TARGETS.put(double.class, Target.DOUBLE);
+        TARGETS.put(Double.class, Target.DOUBLE);
+        TARGETS.put(float.class, Target.FLOAT);
+        TARGETS.put(Float.class, Target.FLOAT);
+        TARGETS.put(boolean.class, Target.BOOLEAN);
+        TARGETS.put(Boolean.class, Target.BOOLEAN);
+        TARGETS.put(String.class, Target.STRING);
+        TARGETS.put(BigDecimal.class, Target.BIG_DECIMAL);
+        TARGETS.put(BigInteger.class, Target.BIG_INTEGER);
+        TARGETS.put(Object.class, Target.OBJECT);
+        TARGETS.put(Number.class, Target.OBJECT);
+    }
+
+    /**
+     * Field type
+     */
+    private final Class<?> type;
+
+    /**
+     * Coercion target of the field type
+     */
+    private final Target target;
+
+    ExcelTypeCoercer(Class<?> type) {
+        this.type = type;
+        if (type.isEnum()) {
+            this.target = Target.ENUM;
+        } else {
+            this.target = TARGETS.getOrDefault(type, Target.OTHER);
+        }
+    }
+
+    /**
+     * Coerce the value of a numeric cell, a numeric cell never matches an enum constant and is coerced to null.
+     * Boolean, BigInteger and other fields fail through Gson as before
+     *
+     * @param value Numeric cell value
+     * @return The value of the field type
+     */
+    public Object coerce(double value) {
+        switch (this.target) {
+            case INT:
+                return toInt(value);
+            case LONG:
+                return toLong(value);
+            case SHORT:
+                return (short) toIntegral(value, Short.MIN_VALUE, Short.MAX_VALUE, "short");
+            case BYTE:
+                return (byte) toIntegral(value, Byte.MIN_VALUE, Byte.MAX_VALUE, "byte");
+            case DOUBLE:
+            case OBJECT:
+                return value;
+            case FLOAT:
+                return (float) value;
+            case STRING:
+                return Double.toString(value);
+            case BIG_DECIMAL:
+                return BigDecimal.valueOf(value);
+            case ENUM:
+                return null;
+            default:
+                return GSON.fromJson(GSON.toJson(value), (Type) this.type);
+        }
+    }
+
+    /**
+     * Coerce the string value of a formula cell
+     *
+     * @param value String cell value
+     * @return The value of the field type
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Object coerce(String value) {
+        if (value == null) {
+            return null;
+        }
+        switch (this.target) {
+            case STRING:
+            case OBJECT:
+                return value;
+            case INT:
+                try {
+                    return Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    return toInt(Double.parseDouble(value));
+                }
+            case LONG:
+                try {
+                    return Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    return toLong(Double.parseDouble(value));
+                }
+            case SHORT:
+            case BYTE:
+            case FLOAT:
+            case DOUBLE:
+                return this.coerce(Double.parseDouble(value));
+            case BOOLEAN:
+                return Boolean.parseBoolean(value);
+            case BIG_DECIMAL:
+                return new BigDecimal(value);
+            case BIG_INTEGER:
+                return new BigInteger(value);
+            case ENUM:
+                for (Object constant : this.type.getEnumConstants()) {
+                    if (((Enum) constant).name().equals(value)) {
+                        return constant;
+                    }
+                }
+                return null;
+            default:
+                return GSON.fromJson(GSON.toJson(value), (Type) this.type);
+        }
+    }
+
+    /**
+     * Assign the value of a numeric cell to the field, int, long and double fields are assigned without boxing
+     *
+     * @param binder Field binder
+     * @param o      Excel entity
+     * @param value  Numeric cell value
+     */
+    void assign(ExcelFieldBinder binder, Object o, double value) {
+        if (this.type.isPrimitive()) {
+            switch (this.target) {
+                case INT:
+                    binder.setInt(o, toInt(value));
+                    return;
+                case LONG:
+                    binder.setLong(o, toLong(value));
+                    return;
+                case DOUBLE:
+                    binder.setDouble(o, value);
+                    return;
+                default:
+            }
+        }
+        binder.setValue(o, this.coerce(value));
+    }
+
+    private static int toInt(double value) {
+        return (int) toIntegral(value, Integer.MIN_VALUE, Integer.MAX_VALUE, "int");
+    }
+
+    private static long toLong(double value) {
+        return toIntegral(value, Long.MIN_VALUE, Long.MAX_VALUE, "long");
+    }
+
+    private static long toIntegral(double value, long min, long max, String typeName) {
+        long integral = (long) value;
+        if (integral != value || integral < min || integral > max) {
+            throw new NumberFormatException("Expected " + typeName + " but was " + value);
+        }
+        return integral;
+    }
+
+    /**
+     * Coercion target
+     */
+    private enum Target {
+        INT, LONG, SHORT, BYTE, DOUBLE, FLOAT, BOOLEAN, STRING, BIG_DECIMAL, BIG_INTEGER, ENUM, OBJECT, OTHER
+    }
+}
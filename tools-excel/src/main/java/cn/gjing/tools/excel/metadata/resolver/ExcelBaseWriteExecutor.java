@@ -5,20 +5,20 @@ import cn.gjing.tools.excel.convert.DefaultDataConvert;
 import cn.gjing.tools.excel.convert.ExcelDataConvert;
 import cn.gjing.tools.excel.exception.ExcelInitException;
 import cn.gjing.tools.excel.metadata.ExcelFieldProperty;
+import cn.gjing.tools.excel.util.BeanUtils;
 import cn.gjing.tools.excel.util.ParamUtils;
 import cn.gjing.tools.excel.write.ExcelWriterContext;
 import cn.gjing.tools.excel.write.callback.ExcelAutoMergeCallback;
 import cn.gjing.tools.excel.write.merge.ExcelOldRowModel;
-import com.google.gson.Gson;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Type;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -32,15 +32,13 @@ public abstract class ExcelBaseWriteExecutor {
     protected final Map<Class<? extends DataConvert<?>>, DataConvert<?>> dataConvertMap;
     protected Map<Class<? extends ExcelAutoMergeCallback<?>>, ExcelAutoMergeCallback<?>> mergeCallbackMap;
     protected Map<Integer, ExcelOldRowModel> oldRowModelMap;
-    protected final Gson gson;
-    protected final ExpressionParser parser;
+    protected final EvaluationContext evaluationContext;
 
     public ExcelBaseWriteExecutor(ExcelWriterContext context) {
         this.context = context;
         this.dataConvertMap = new HashMap<>(16);
         this.dataConvertMap.put(DefaultDataConvert.class, new DefaultDataConvert());
-        this.gson = new Gson();
-        this.parser = new SpelExpressionParser();
+        this.evaluationContext = new StandardEvaluationContext();
     }
 
     /**
@@ -104,8 +102,26 @@ public abstract class ExcelBaseWriteExecutor {
      */
     protected void autoMergeY(ExcelAutoMergeCallback<?> autoMergeCallback, Row row, boolean mergeEmpty, int index, int colIndex,
                               Object cellValue, Object obj, int dataSize, Field field) {
+        this.autoMergeY(autoMergeCallback, row, mergeEmpty, index, colIndex, cellValue, obj, index == dataSize - 1, field);
+    }
+
+    /**
+     * Body Vertical auto merge, the open merge region of the column is closed at the last data
+     *
+     * @param autoMergeCallback AutoMergeCallback
+     * @param row               Current row
+     * @param mergeEmpty        Whether null merges are allowed
+     * @param field             The field corresponding to the current callback has a value only when the simple type is exported
+     * @param index             The data index, start at 0
+     * @param last              Whether the current row is the last data
+     * @param colIndex          Current col index
+     * @param cellValue         Current cell value
+     * @param obj               The object corresponding to the current row
+     */
+    protected void autoMergeY(ExcelAutoMergeCallback<?> autoMergeCallback, Row row, boolean mergeEmpty, int index, int colIndex,
+                              Object cellValue, Object obj, boolean last, Field field) {
         if (index == 0) {
-            if (autoMergeCallback.mergeY(obj == null ? null : this.gson.fromJson(this.gson.toJson(obj), (Type) obj.getClass()), field, colIndex, index)) {
+            if (autoMergeCallback.mergeY(BeanUtils.handOver(autoMergeCallback, obj), field, colIndex, index)) {
                 this.oldRowModelMap.put(colIndex, new ExcelOldRowModel(cellValue, row.getRowNum()));
             } else {
                 this.oldRowModelMap.put(colIndex, new ExcelOldRowModel(autoMergeCallback.getClass(), row.getRowNum()));
@@ -113,9 +129,9 @@ public abstract class ExcelBaseWriteExecutor {
             return;
         }
         ExcelOldRowModel excelOldRowModel = this.oldRowModelMap.get(colIndex);
-        if (autoMergeCallback.mergeY(obj == null ? null : this.gson.fromJson(this.gson.toJson(obj), (Type) obj.getClass()), field, colIndex, index)) {
+        if (autoMergeCallback.mergeY(BeanUtils.handOver(autoMergeCallback, obj), field, colIndex, index)) {
             if (ParamUtils.equals(cellValue, excelOldRowModel.getOldRowCellValue(), mergeEmpty)) {
-                if (index == dataSize - 1) {
+                if (last) {
                     this.context.getSheet().addMergedRegion(new CellRangeAddress(excelOldRowModel.getOldRowIndex(), row.getRowNum(), colIndex, colIndex));
                 }
                 return;
@@ -127,7 +143,7 @@ public abstract class ExcelBaseWriteExecutor {
             excelOldRowModel.setOldRowIndex(row.getRowNum());
             return;
         }
-        if (index == dataSize - 1) {
+        if (last) {
             int lastRow = row.getRowNum() - 1;
             if (lastRow > excelOldRowModel.getOldRowIndex()) {
                 this.context.getSheet().addMergedRegion(new CellRangeAddress(excelOldRowModel.getOldRowIndex(), lastRow, colIndex, colIndex));
@@ -142,17 +158,17 @@ public abstract class ExcelBaseWriteExecutor {
      *
      * @param value            Attribute values
      * @param obj              Current object
-     * @param excelDataConvert excelDataConvert
+     * @param exportExpression Parsed {@link ExcelDataConvert#expr1()}, null if not set
      * @param dataConvert      dataConvert
      * @param context          EL context
      * @return new value
      */
-    protected Object convert(Object value, Object obj, ExcelDataConvert excelDataConvert, EvaluationContext context, DataConvert<?> dataConvert) {
-        if (excelDataConvert != null && !"".equals(excelDataConvert.expr1())) {
-            return this.parser.parseExpression(excelDataConvert.expr1()).getValue(context);
+    protected Object convert(Object value, Object obj, Expression exportExpression, EvaluationContext context, DataConvert<?> dataConvert) {
+        if (exportExpression != null) {
+            return exportExpression.getValue(context);
         }
         if (dataConvert != null) {
-            return dataConvert.toExcelAttribute(this.gson.fromJson(this.gson.toJson(obj), (Type) obj.getClass()), value);
+            return dataConvert.toExcelAttribute(BeanUtils.handOver(dataConvert, obj), value);
         }
         return value;
     }
@@ -170,5 +186,15 @@ public abstract class ExcelBaseWriteExecutor {
      *
      * @param data Export data
      */
-    public abstract void writeBody(List<?> data);
+    public void writeBody(List<?> data) {
+        this.writeBody(data.iterator());
+    }
+
+    /**
+     * Set excel body, the data is pulled one row at a time and
+     * one row ahead to know whether the current row is the last one
+     *
+     * @param data Export data
+     */
+    public abstract void writeBody(Iterator<?> data);
 }
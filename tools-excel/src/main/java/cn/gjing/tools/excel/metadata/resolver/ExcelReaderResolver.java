@@ -2,6 +2,8 @@ package cn.gjing.tools.excel.metadata.resolver;
 
 import cn.gjing.tools.excel.read.ExcelReaderContext;
 
+import java.util.Iterator;
+
 /**
  * Excel reader resolver
  *
@@ -23,4 +25,20 @@ public interface ExcelReaderResolver<R> {
      * @param sheetName   sheetName
      */
     void read(int headerIndex, String sheetName);
+
+    /**
+     * Lazily import excel, each call to {@link Iterator#hasNext()} reads the sheet
+     * until the next body row has been mapped, the rows are not collected
+     *
+     * @param headerIndex Excel really header start index
+     * @param sheetName   sheetName
+     * @return Iterator of the mapped entities
+     */
+    Iterator<R> iterator(int headerIndex, String sheetName);
+
+    /**
+     * Stop the iterators that have not been exhausted, called when the reader is finished
+     */
+    default void close() {
+    }
 }
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -96,6 +97,15 @@ public abstract class ExcelWriterResolver {
      */
     public abstract void write(List<?> data);
 
+    /**
+     * Write excel body, the data is pulled lazily
+     *
+     * @param data data
+     */
+    public void write(Iterator<?> data) {
+        this.writeExecutor.writeBody(data);
+    }
+
     /**
      * Write excel header
      *
@@ -112,17 +122,9 @@ public abstract class ExcelWriterResolver {
      * @param response response
      */
     public void flush(HttpServletResponse response, ExcelWriterContext context) {
-        response.setContentType("application/vnd.ms-excel");
-        HttpServletRequest request = ((ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes())).getRequest();
         OutputStream outputStream = null;
         try {
-            if (request.getHeader("User-Agent").toLowerCase().indexOf("firefox") > 0) {
-                context.setFileName(new String(context.getFileName().getBytes(StandardCharsets.UTF_8), "ISO8859-1"));
-            } else {
-                context.setFileName(URLEncoder.encode(context.getFileName(), "UTF-8"));
-            }
-            response.setHeader("Content-disposition", "attachment;filename=" + context.getFileName() + (context.getExcelType() == ExcelType.XLS ? ".xls" : ".xlsx"));
-            outputStream = response.getOutputStream();
+            outputStream = this.openResponse(response, context);
             context.getWorkbook().write(outputStream);
         } catch (IOException e) {
             throw new ExcelResolverException("Excel cache data flush failure, " + e.getMessage());
@@ -141,6 +143,26 @@ public abstract class ExcelWriterResolver {
         }
     }
 
+    /**
+     * Set the download headers of the excel file and open the response body
+     *
+     * @param response response
+     * @param context  Excel write context
+     * @return Response output stream
+     * @throws IOException Open response error
+     */
+    public OutputStream openResponse(HttpServletResponse response, ExcelWriterContext context) throws IOException {
+        response.setContentType("application/vnd.ms-excel");
+        HttpServletRequest request = ((ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes())).getRequest();
+        if (request.getHeader("User-Agent").toLowerCase().indexOf("firefox") > 0) {
+            context.setFileName(new String(context.getFileName().getBytes(StandardCharsets.UTF_8), "ISO8859-1"));
+        } else {
+            context.setFileName(URLEncoder.encode(context.getFileName(), "UTF-8"));
+        }
+        response.setHeader("Content-disposition", "attachment;filename=" + context.getFileName() + (context.getExcelType() == ExcelType.XLS ? ".xls" : ".xlsx"));
+        return response.getOutputStream();
+    }
+
     /**
      * Output the contents of the cache to local
      *
@@ -1,7 +1,9 @@
 package cn.gjing.tools.excel.read;
 
 import cn.gjing.tools.excel.metadata.AbstractExcelContext;
+import cn.gjing.tools.excel.read.checkpoint.ExcelCheckpointStore;
 import cn.gjing.tools.excel.read.listener.ExcelResultReadListener;
+import cn.gjing.tools.excel.read.valid.ExcelErrorReport;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -58,6 +60,52 @@ public class ExcelReaderContext<R> extends AbstractExcelContext {
      */
     private ExcelResultReadListener<R> resultReadListener;
 
+    /**
+     * The number of worker threads mapping the body rows, 0 maps them on the reading thread
+     */
+    private int workers = 0;
+
+    /**
+     * The maximum number of body rows parsed ahead of the delivered rows when mapped by workers,
+     * 0 means 64 rows per worker
+     */
+    private int capacity = 0;
+
+    /**
+     * Whether the rows mapped by workers are delivered in sheet order
+     */
+    private boolean ordered = true;
+
+    /**
+     * Index of the first body row to read, start at 0, the body rows before it are skipped without being mapped
+     */
+    private int rangeStart = 0;
+
+    /**
+     * Index after the last body row to read, -1 reads to the end of the sheet
+     */
+    private int rangeEnd = -1;
+
+    /**
+     * Checkpoint store of a resumable import, null if the import is not resumable
+     */
+    private ExcelCheckpointStore checkpointStore;
+
+    /**
+     * Key of the resumable import in the checkpoint store
+     */
+    private String checkpointKey;
+
+    /**
+     * Fingerprint of the imported file
+     */
+    private String fingerprint;
+
+    /**
+     * Collected errors of the import, null if the first error is thrown
+     */
+    private ExcelErrorReport errorReport;
+
     public ExcelReaderContext() {
         super();
     }
@@ -0,0 +1,57 @@
+package cn.gjing.tools.excel.read.checkpoint;
+
+import cn.gjing.tools.excel.exception.ExcelInitException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The progress of an import, the body rows before {@link #committed} have been handled by the batch listeners
+ *
+ * @author Gjing
+ **/
+@Getter
+@ToString
+@AllArgsConstructor
+public final class ExcelCheckpoint {
+    /**
+     * Fingerprint of the imported file, a checkpoint of another file is not resumed
+     */
+    private final String fingerprint;
+
+    /**
+     * Number of committed body rows, which is also the index of the next body row to read
+     */
+    private final int committed;
+
+    /**
+     * Compute the SHA-256 fingerprint of the file content
+     *
+     * @param file Excel file
+     * @return Hex fingerprint
+     */
+    public static String fingerprint(File file) {
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+            StringBuilder builder = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ExcelInitException("Compute excel file fingerprint error, " + e.getMessage());
+        }
+    }
+}
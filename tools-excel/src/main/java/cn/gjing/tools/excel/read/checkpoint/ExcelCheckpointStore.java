@@ -0,0 +1,32 @@
+package cn.gjing.tools.excel.read.checkpoint;
+
+/**
+ * Stores the checkpoints of resumable imports, such as a local file, a database table or a cache.
+ * A checkpoint is saved each time the batch listeners have handled a batch and cleared when the import completes
+ *
+ * @author Gjing
+ **/
+public interface ExcelCheckpointStore {
+    /**
+     * Load the checkpoint of the import
+     *
+     * @param key Import key
+     * @return Checkpoint, null if there is none
+     */
+    ExcelCheckpoint load(String key);
+
+    /**
+     * Save the checkpoint of the import
+     *
+     * @param key        Import key
+     * @param checkpoint Checkpoint
+     */
+    void save(String key, ExcelCheckpoint checkpoint);
+
+    /**
+     * Clear the checkpoint of the import
+     *
+     * @param key Import key
+     */
+    void clear(String key);
+}
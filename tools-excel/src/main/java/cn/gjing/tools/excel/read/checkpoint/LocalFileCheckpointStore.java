@@ -0,0 +1,79 @@
+package cn.gjing.tools.excel.read.checkpoint;
+
+import cn.gjing.tools.excel.exception.ExcelResolverException;
+import cn.gjing.tools.excel.util.ParamUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Keeps each checkpoint in a properties file of a local directory,
+ * the file is replaced atomically so a crash never leaves a partial checkpoint
+ *
+ * @author Gjing
+ **/
+public class LocalFileCheckpointStore implements ExcelCheckpointStore {
+    private final Path directory;
+
+    public LocalFileCheckpointStore(File directory) {
+        this.directory = directory.toPath();
+    }
+
+    @Override
+    public ExcelCheckpoint load(String key) {
+        Path path = this.resolve(key);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            throw new ExcelResolverException("Load excel checkpoint error, " + e.getMessage());
+        }
+        String committed = properties.getProperty("committed");
+        return committed == null ? null : new ExcelCheckpoint(properties.getProperty("fingerprint"), Integer.parseInt(committed));
+    }
+
+    @Override
+    public void save(String key, ExcelCheckpoint checkpoint) {
+        Properties properties = new Properties();
+        properties.setProperty("key", key);
+        properties.setProperty("fingerprint", checkpoint.getFingerprint());
+        properties.setProperty("committed", String.valueOf(checkpoint.getCommitted()));
+        Path path = this.resolve(key);
+        try {
+            Files.createDirectories(this.directory);
+            Path temp = Files.createTempFile(this.directory, path.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream outputStream = Files.newOutputStream(temp)) {
+                    properties.store(outputStream, null);
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new ExcelResolverException("Save excel checkpoint error, " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void clear(String key) {
+        try {
+            Files.deleteIfExists(this.resolve(key));
+        } catch (IOException e) {
+            throw new ExcelResolverException("Clear excel checkpoint error, " + e.getMessage());
+        }
+    }
+
+    private Path resolve(String key) {
+        return this.directory.resolve(ParamUtils.encodeMd5(key) + ".checkpoint");
+    }
+}
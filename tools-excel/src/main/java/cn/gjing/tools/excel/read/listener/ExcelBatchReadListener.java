@@ -0,0 +1,33 @@
+package cn.gjing.tools.excel.read.listener;
+
+import cn.gjing.tools.excel.metadata.listener.ExcelReadListener;
+
+import java.util.List;
+
+/**
+ * Batch read listener, the mapped entities of the body rows are buffered
+ * and handed over in chunks of {@link #batchSize()}, the last chunk is handed over when the sheet is finished
+ * or when the reader is finished before the iterator or stream of the sheet is exhausted.
+ * Suitable for bulk inserts such as JDBC batches or saveAll
+ *
+ * @author Gjing
+ **/
+@FunctionalInterface
+public interface ExcelBatchReadListener<R> extends ExcelReadListener {
+    /**
+     * Read a batch of rows successfully.
+     * The list is reused by the reader and cleared after this method returns, copy it if you need to keep the rows
+     *
+     * @param batch Generated Java objects of the batch, never empty
+     */
+    void readBatch(List<R> batch);
+
+    /**
+     * The number of rows per batch
+     *
+     * @return Batch size
+     */
+    default int batchSize() {
+        return 1000;
+    }
+}
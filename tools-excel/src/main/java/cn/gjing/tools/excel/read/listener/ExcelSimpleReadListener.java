@@ -0,0 +1,22 @@
+package cn.gjing.tools.excel.read.listener;
+
+import cn.gjing.tools.excel.metadata.listener.ExcelReadListener;
+import cn.gjing.tools.excel.read.resolver.ExcelSimpleReader;
+import cn.gjing.tools.excel.read.resolver.RowView;
+
+/**
+ * Row listener of the simple reader.
+ * You can set it by {@link ExcelSimpleReader#read(ExcelSimpleReadListener)}
+ *
+ * @author Gjing
+ **/
+@FunctionalInterface
+public interface ExcelSimpleReadListener extends ExcelReadListener {
+    /**
+     * Read each row of the sheet
+     *
+     * @param row Current row, the view is reused for the next row, copy it by {@link RowView#toArray()} to keep the values
+     * @return Whether to stop reading, true is stop
+     */
+    boolean readRow(RowView row);
+}
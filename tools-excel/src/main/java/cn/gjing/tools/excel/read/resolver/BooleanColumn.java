@@ -0,0 +1,58 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import java.lang.reflect.Field;
+import java.util.BitSet;
+
+/**
+ * Column vector of boolean fields, the values are kept in a bitset
+ *
+ * @author Gjing
+ **/
+public final class BooleanColumn extends ExcelColumn {
+    private final BitSet values = new BitSet();
+
+    BooleanColumn(Field field, int colIndex) {
+        super(field, colIndex);
+    }
+
+    /**
+     * Append a value
+     *
+     * @param value value
+     */
+    void append(boolean value) {
+        int index = this.next();
+        if (value) {
+            this.values.set(index);
+        }
+    }
+
+    /**
+     * Get the value of the row, false if the cell is blank
+     *
+     * @param row Row index of the column, start at 0
+     * @return value
+     */
+    public boolean get(int row) {
+        this.checkIndex(row);
+        return this.values.get(row);
+    }
+
+    @Override
+    public Object getObject(int row) {
+        return this.isNull(row) ? null : this.values.get(row);
+    }
+
+    /**
+     * Copy the values to a bitset, blank cells are false
+     *
+     * @return values
+     */
+    public BitSet toBitSet() {
+        return (BitSet) this.values.clone();
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+    }
+}
@@ -0,0 +1,66 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import cn.gjing.tools.excel.ExcelField;
+import cn.gjing.tools.excel.convert.DataConvert;
+import cn.gjing.tools.excel.metadata.bind.ExcelFieldBinder;
+
+import java.lang.reflect.Field;
+
+/**
+ * The binding of a body column to an entity field, resolved once from the header row
+ *
+ * @author Gjing
+ **/
+final class ColumnBinding {
+    /**
+     * Col index
+     */
+    final int colIndex;
+
+    /**
+     * Current field
+     */
+    final Field field;
+
+    /**
+     * ExcelField annotation on current field
+     */
+    final ExcelField excelField;
+
+    /**
+     * Binder of current field, holds the coercer and the EL expressions
+     */
+    final ExcelFieldBinder binder;
+
+    /**
+     * Data converter of current field
+     */
+    final DataConvert<?> dataConvert;
+
+    /**
+     * Whether the cell cannot be empty
+     */
+    final boolean required;
+
+    /**
+     * Whether to trim the string value
+     */
+    final boolean trim;
+
+    /**
+     * Whether numeric cells can be set to the entity directly,
+     * true when nothing can observe the value and the default converter is used
+     */
+    final boolean direct;
+
+    ColumnBinding(int colIndex, Field field, ExcelField excelField, ExcelFieldBinder binder, DataConvert<?> dataConvert, boolean direct) {
+        this.colIndex = colIndex;
+        this.field = field;
+        this.excelField = excelField;
+        this.binder = binder;
+        this.dataConvert = dataConvert;
+        this.required = excelField.required();
+        this.trim = excelField.trim();
+        this.direct = direct;
+    }
+}
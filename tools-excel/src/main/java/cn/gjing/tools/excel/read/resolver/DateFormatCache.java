@@ -0,0 +1,78 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+/**
+ * Caches whether the data format of each cell style of a workbook is a date format, keyed by the style index,
+ * so the format string of a style is only analysed once instead of for every numeric cell
+ *
+ * @author Gjing
+ **/
+final class DateFormatCache {
+    private static final byte UNKNOWN = 0;
+    private static final byte DATE = 1;
+    private static final byte NOT_DATE = 2;
+
+    /**
+     * Format kind by style index
+     */
+    private byte[] formats = new byte[64];
+
+    /**
+     * Same as {@link DateUtil#isCellDateFormatted(Cell)}, the format of the style is looked up in the cache
+     *
+     * @param cell Numeric cell
+     * @return Whether the cell is a date
+     */
+    boolean isDateFormatted(Cell cell) {
+        CellStyle style = cell.getCellStyle();
+        if (style == null || !DateUtil.isValidExcelDate(cell.getNumericCellValue())) {
+            return false;
+        }
+        int index = style.getIndex() & 0xFFFF;
+        byte format = this.get(index);
+        if (format == UNKNOWN) {
+            format = this.put(index, style.getDataFormat(), style.getDataFormatString());
+        }
+        return format == DATE;
+    }
+
+    /**
+     * Whether the value of a number record of an xls file is a date, the format of the extended format is looked up in the cache
+     *
+     * @param record  Number record
+     * @param value   Number value
+     * @param formats Formats of the workbook
+     * @return Whether the value is a date
+     */
+    boolean isDateFormatted(CellValueRecordInterface record, double value, FormatTrackingHSSFListener formats) {
+        if (!DateUtil.isValidExcelDate(value)) {
+            return false;
+        }
+        int index = record.getXFIndex() & 0xFFFF;
+        byte format = this.get(index);
+        if (format == UNKNOWN) {
+            format = this.put(index, formats.getFormatIndex(record), formats.getFormatString(record));
+        }
+        return format == DATE;
+    }
+
+    private byte get(int index) {
+        return index < this.formats.length ? this.formats[index] : UNKNOWN;
+    }
+
+    private byte put(int index, int formatIndex, String formatString) {
+        if (index >= this.formats.length) {
+            byte[] grown = new byte[Math.max(index + 1, this.formats.length * 2)];
+            System.arraycopy(this.formats, 0, grown, 0, this.formats.length);
+            this.formats = grown;
+        }
+        byte format = formatString != null && DateUtil.isADateFormat(formatIndex, formatString) ? DATE : NOT_DATE;
+        this.formats[index] = format;
+        return format;
+    }
+}
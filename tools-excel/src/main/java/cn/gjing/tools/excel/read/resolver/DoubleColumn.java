@@ -0,0 +1,59 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * Column vector of primitive double values of numeric and decimal fields
+ *
+ * @author Gjing
+ **/
+public final class DoubleColumn extends ExcelColumn {
+    private double[] values = new double[0];
+
+    DoubleColumn(Field field, int colIndex) {
+        super(field, colIndex);
+    }
+
+    /**
+     * Append a value
+     *
+     * @param value value
+     */
+    void append(double value) {
+        int index = this.next();
+        this.values[index] = value;
+    }
+
+    /**
+     * Get the value of the row, 0 if the cell is blank
+     *
+     * @param row Row index of the column, start at 0
+     * @return value
+     */
+    public double get(int row) {
+        this.checkIndex(row);
+        return this.values[row];
+    }
+
+    @Override
+    public Object getObject(int row) {
+        return this.isNull(row) ? null : this.values[row];
+    }
+
+    /**
+     * Copy the values to an array, blank cells are 0
+     *
+     * @return values
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (capacity > this.values.length) {
+            this.values = Arrays.copyOf(this.values, grow(this.values.length, capacity));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package cn.gjing.tools.excel.read.resolver;
 import cn.gjing.tools.excel.Excel;
 import cn.gjing.tools.excel.exception.ExcelInitException;
 import cn.gjing.tools.excel.exception.ExcelTemplateException;
+import cn.gjing.tools.excel.metadata.ExcelType;
 import cn.gjing.tools.excel.metadata.resolver.ExcelReaderResolver;
 import cn.gjing.tools.excel.read.ExcelReaderContext;
 import com.monitorjbl.xlsx.StreamingReader;
@@ -10,8 +11,10 @@ import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.openxml4j.exceptions.NotOfficeXmlFileException;
 import org.apache.poi.poifs.filesystem.NotOLE2FileException;
 import org.apache.poi.poifs.filesystem.OfficeXmlFileException;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.Workbook;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -20,44 +23,132 @@ import java.io.InputStream;
  *
  * @author Gjing
  **/
-public abstract class ExcelBaseReader<R> {
+public abstract class ExcelBaseReader<R> implements AutoCloseable {
+    private static final Excel DEFAULT_EXCEL = DefaultOptions.class.getAnnotation(Excel.class);
     protected ExcelReaderContext<R> context;
     protected InputStream inputStream;
+    protected File file;
     protected ExcelReaderResolver<R> readerResolver;
     protected final String defaultSheetName = "Sheet1";
+    private ExcelRowSource rowSource;
+    private boolean deleteFile;
+    private boolean finished;
 
     public ExcelBaseReader(ExcelReaderContext<R> context, InputStream inputStream, Excel excel) {
         this.context = context;
         this.inputStream = inputStream;
-        this.chooseResolver(excel);
+        this.chooseResolver(excel.type(), excel);
     }
 
     /**
-     * The Excel read data end
+     * Read a workbook that is not bound to an Excel entity, the default options of {@link Excel} are used
+     *
+     * @param context     Excel reader context
+     * @param inputStream Excel file inputStream
+     * @param excelType   Excel file type
+     */
+    protected ExcelBaseReader(ExcelReaderContext<R> context, InputStream inputStream, ExcelType excelType) {
+        this.context = context;
+        this.inputStream = inputStream;
+        this.chooseResolver(excelType, DEFAULT_EXCEL);
+    }
+
+    /**
+     * Read the file in place instead of copying it from a stream first.
+     * The xls file system is opened read-only, the xlsx package is opened by xlsx-streamer
+     * in POI's default read-write mode and reverted rather than saved when the reader is finished
+     *
+     * @param context    Excel reader context
+     * @param file       Excel file
+     * @param deleteFile Whether to delete the file when the reader is finished, such as an upload spooled to a temporary file
+     * @param excel      Excel annotation of Excel entity
+     */
+    public ExcelBaseReader(ExcelReaderContext<R> context, File file, boolean deleteFile, Excel excel) {
+        this.context = context;
+        this.file = file;
+        this.deleteFile = deleteFile;
+        this.chooseResolver(excel.type(), excel);
+    }
+
+    /**
+     * Read a workbook file in place that is not bound to an Excel entity, the default options of {@link Excel} are used
+     *
+     * @param context    Excel reader context
+     * @param file       Excel file
+     * @param deleteFile Whether to delete the file when the reader is finished
+     * @param excelType  Excel file type
+     */
+    protected ExcelBaseReader(ExcelReaderContext<R> context, File file, boolean deleteFile, ExcelType excelType) {
+        this.context = context;
+        this.file = file;
+        this.deleteFile = deleteFile;
+        this.chooseResolver(excelType, DEFAULT_EXCEL);
+    }
+
+    /**
+     * The Excel read data end, the iterators and streams that have not been exhausted are stopped,
+     * calling it again has no effect
      */
     public void finish() {
+        if (this.finished) {
+            return;
+        }
+        this.finished = true;
         try {
-            if (this.inputStream != null) {
-                this.inputStream.close();
+            if (this.readerResolver != null) {
+                this.readerResolver.close();
             }
-            if (this.context.getWorkbook() != null) {
-                this.context.getWorkbook().close();
+        } finally {
+            try {
+                if (this.inputStream != null) {
+                    this.inputStream.close();
+                }
+                if (this.rowSource != null) {
+                    this.rowSource.close();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            } finally {
+                if (this.deleteFile) {
+                    this.file.delete();
+                }
             }
-        } catch (IOException e) {
-            e.printStackTrace();
         }
     }
 
+    /**
+     * Same as {@link #finish()}, so the reader and a temporary upload file are released by a try-with-resources block
+     */
+    @Override
+    public void close() {
+        this.finish();
+    }
+
+    /**
+     * Rows of the opened workbook
+     *
+     * @return ExcelRowSource
+     */
+    ExcelRowSource getRowSource() {
+        return this.rowSource;
+    }
+
     /**
      * Choose excel read resolver
      *
-     * @param excel Excel annotation of Excel entity
+     * @param excelType Excel file type
+     * @param excel     Excel annotation of Excel entity
      */
-    private void chooseResolver(Excel excel) {
-        switch (excel.type()) {
+    private void chooseResolver(ExcelType excelType, Excel excel) {
+        switch (excelType) {
             case XLS:
                 try {
-                    this.context.setWorkbook(new HSSFWorkbook(this.inputStream));
+                    POIFSFileSystem fileSystem = this.file == null ? new POIFSFileSystem(this.inputStream) : new POIFSFileSystem(this.file, true);
+                    if (excel.streamingXls()) {
+                        this.rowSource = new XlsRecordRowSource(fileSystem);
+                    } else {
+                        this.context.setWorkbook(new HSSFWorkbook(fileSystem));
+                    }
                 } catch (NotOLE2FileException | OfficeXmlFileException exception) {
                     exception.printStackTrace();
                     throw new ExcelTemplateException();
@@ -68,10 +159,11 @@ public abstract class ExcelBaseReader<R> {
             case XLSX:
                 Workbook workbook;
                 try {
-                    workbook = StreamingReader.builder()
+                    StreamingReader.Builder builder = StreamingReader.builder()
                             .rowCacheSize(excel.cacheRowSize())
                             .bufferSize(excel.bufferSize())
-                            .open(this.inputStream);
+                            .sstCacheSize(excel.sstCacheSize());
+                    workbook = this.file == null ? builder.open(this.inputStream) : builder.open(this.file);
                 } catch (NotOfficeXmlFileException e) {
                     e.printStackTrace();
                     throw new ExcelTemplateException();
@@ -80,7 +172,15 @@ public abstract class ExcelBaseReader<R> {
                 break;
             default:
         }
-        this.readerResolver = new ExcelReadExecutor<>();
-        this.readerResolver.init(this.context);
+        if (this.rowSource == null) {
+            this.rowSource = new WorkbookRowSource(this.context);
+        }
+    }
+
+    /**
+     * Holds the default options of {@link Excel}
+     */
+    @Excel
+    private static final class DefaultOptions {
     }
 }
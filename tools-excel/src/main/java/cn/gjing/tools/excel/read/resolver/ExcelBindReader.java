@@ -1,16 +1,28 @@
 package cn.gjing.tools.excel.read.resolver;
 
 import cn.gjing.tools.excel.Excel;
+import cn.gjing.tools.excel.exception.ExcelInitException;
 import cn.gjing.tools.excel.exception.ExcelTemplateException;
 import cn.gjing.tools.excel.metadata.aware.ExcelReaderContextAware;
 import cn.gjing.tools.excel.metadata.aware.ExcelWorkbookAware;
 import cn.gjing.tools.excel.metadata.listener.ExcelReadListener;
 import cn.gjing.tools.excel.read.ExcelReaderContext;
+import cn.gjing.tools.excel.read.checkpoint.ExcelCheckpoint;
+import cn.gjing.tools.excel.read.checkpoint.ExcelCheckpointStore;
+import cn.gjing.tools.excel.read.listener.ExcelBatchReadListener;
 import cn.gjing.tools.excel.read.listener.ExcelResultReadListener;
+import cn.gjing.tools.excel.read.valid.ExcelErrorReport;
+import cn.gjing.tools.excel.util.ParamUtils;
 import org.springframework.util.StringUtils;
 
+import java.io.File;
 import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Excel bind mode reader
@@ -21,6 +33,17 @@ import java.util.List;
 public final class ExcelBindReader<R> extends ExcelBaseReader<R> {
     public ExcelBindReader(ExcelReaderContext<R> context, InputStream inputStream, Excel excel) {
         super(context, inputStream, excel);
+        this.initResolver();
+    }
+
+    public ExcelBindReader(ExcelReaderContext<R> context, File file, boolean deleteFile, Excel excel) {
+        super(context, file, deleteFile, excel);
+        this.initResolver();
+    }
+
+    private void initResolver() {
+        this.readerResolver = new ExcelReadExecutor<>(this.getRowSource());
+        this.readerResolver.init(this.context);
     }
 
     /**
@@ -29,8 +52,7 @@ public final class ExcelBindReader<R> extends ExcelBaseReader<R> {
      * @return this
      */
     public ExcelBindReader<R> read() {
-        this.readerResolver.read(0, this.defaultSheetName);
-        return this;
+        return this.read(0, this.defaultSheetName);
     }
 
     /**
@@ -40,8 +62,7 @@ public final class ExcelBindReader<R> extends ExcelBaseReader<R> {
      * @return this
      */
     public ExcelBindReader<R> read(String sheetName) {
-        this.readerResolver.read(0, sheetName);
-        return this;
+        return this.read(0, sheetName);
     }
 
     /**
@@ -53,8 +74,7 @@ public final class ExcelBindReader<R> extends ExcelBaseReader<R> {
      * @return this
      */
     public ExcelBindReader<R> read(int headerIndex) {
-        this.readerResolver.read(headerIndex, this.defaultSheetName);
-        return this;
+        return this.read(headerIndex, this.defaultSheetName);
     }
 
     /**
@@ -70,6 +90,186 @@ public final class ExcelBindReader<R> extends ExcelBaseReader<R> {
         return this;
     }
 
+    /**
+     * Lazily read excel, rows are pulled from the sheet only when the iterator advances.
+     * The mapped entities are not collected for {@link ExcelResultReadListener},
+     * call {@link #finish()} once done with the iterator
+     *
+     * @return Iterator of the mapped entities
+     */
+    public Iterator<R> iterator() {
+        return this.readerResolver.iterator(0, this.defaultSheetName);
+    }
+
+    /**
+     * Lazily read the specified sheet, rows are pulled from the sheet only when the iterator advances.
+     * The mapped entities are not collected for {@link ExcelResultReadListener},
+     * call {@link #finish()} once done with the iterator
+     *
+     * @param headerIndex The actual subscript of the Excel header,
+     *                    subscript is evaluated from 0
+     * @param sheetName   Excel Sheet name
+     * @return Iterator of the mapped entities
+     */
+    public Iterator<R> iterator(int headerIndex, String sheetName) {
+        return this.readerResolver.iterator(headerIndex, sheetName);
+    }
+
+    /**
+     * Lazily read excel as a sequential stream, closing the stream finishes the reader
+     * and releases the workbook, so use it in a try-with-resources block
+     *
+     * @return Stream of the mapped entities
+     */
+    public Stream<R> stream() {
+        return this.stream(0, this.defaultSheetName);
+    }
+
+    /**
+     * Lazily read the specified sheet as a sequential stream, closing the stream finishes the reader
+     * and releases the workbook, so use it in a try-with-resources block
+     *
+     * @param headerIndex The actual subscript of the Excel header,
+     *                    subscript is evaluated from 0
+     * @param sheetName   Excel Sheet name
+     * @return Stream of the mapped entities
+     */
+    public Stream<R> stream(int headerIndex, String sheetName) {
+        Spliterator<R> spliterator = Spliterators.spliteratorUnknownSize(this.iterator(headerIndex, sheetName),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::finish);
+    }
+
+    /**
+     * Map the body rows on worker threads while the sheet is parsed on the reading thread.
+     * Useful when data converters, EL expressions or assertions are expensive.
+     * Data converters are then called from the workers and must be thread-safe, cell listeners and empty listeners
+     * are refused, row listeners, batch listeners and the result listener are still called from the reading thread.
+     * The workers are shared by the sheets of the reader and stopped by {@link #finish()}
+     *
+     * @param workers The number of worker threads, 0 to map the rows on the reading thread
+     * @param ordered Whether to deliver the rows in sheet order, otherwise in the order they are mapped
+     * @return this
+     */
+    public ExcelBindReader<R> pipelined(int workers, boolean ordered) {
+        return this.pipelined(workers, 0, ordered);
+    }
+
+    /**
+     * Map the body rows on worker threads while the sheet is parsed on the reading thread.
+     * Useful when data converters, EL expressions or assertions are expensive.
+     * Data converters are then called from the workers and must be thread-safe, cell listeners and empty listeners
+     * are refused, row listeners, batch listeners and the result listener are still called from the reading thread.
+     * The workers are shared by the sheets of the reader and stopped by {@link #finish()}
+     *
+     * @param workers  The number of worker threads, 0 to map the rows on the reading thread
+     * @param capacity The maximum number of rows parsed ahead of the delivered rows, 0 means 64 rows per worker
+     * @param ordered  Whether to deliver the rows in sheet order, otherwise in the order they are mapped
+     * @return this
+     */
+    public ExcelBindReader<R> pipelined(int workers, int capacity, boolean ordered) {
+        if (workers < 0 || capacity < 0) {
+            throw new IllegalArgumentException("Workers and capacity cannot be negative");
+        }
+        this.context.setWorkers(workers);
+        this.context.setCapacity(capacity);
+        this.context.setOrdered(ordered);
+        return this;
+    }
+
+    /**
+     * Only read the body rows in the range, the body rows before the start are skipped without being mapped
+     * and reading stops as soon as the last row of the range has been read, an empty range reads no body row.
+     * The reader is not finished by the read, call {@link #finish()} once done
+     *
+     * @param start Index of the first body row, start at 0
+     * @param end   Index after the last body row
+     * @return this
+     */
+    public ExcelBindReader<R> range(int start, int end) {
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("Invalid read range " + start + " to " + end);
+        }
+        this.context.setRangeStart(start);
+        this.context.setRangeEnd(end);
+        return this;
+    }
+
+    /**
+     * Only read the first body rows, such as a preview of an upload.
+     * The reader is not finished by the read, call {@link #finish()} once done
+     *
+     * @param limit The maximum number of body rows
+     * @return this
+     */
+    public ExcelBindReader<R> limit(int limit) {
+        return this.range(0, limit);
+    }
+
+    /**
+     * Make the import resumable, a checkpoint is saved each time the batch listeners have handled a batch,
+     * so only rows handled by {@link ExcelBatchReadListener} are committed and reading without one
+     * throws {@link ExcelInitException}.
+     * A resumed read of the same file skips the committed body rows without mapping them,
+     * the checkpoint is cleared once the whole sheet or the whole {@link #range(int, int)} has been read
+     *
+     * @param store Checkpoint store
+     * @param key   Import key, such as the upload id plus the sheet name
+     * @return this
+     */
+    public ExcelBindReader<R> checkpoint(ExcelCheckpointStore store, String key) {
+        if (this.file == null) {
+            throw new ExcelInitException("The file of an input stream cannot be fingerprinted, please specify the fingerprint");
+        }
+        return this.checkpoint(store, key, ExcelCheckpoint.fingerprint(this.file));
+    }
+
+    /**
+     * Make the import resumable, a checkpoint is saved each time the batch listeners have handled a batch,
+     * so only rows handled by {@link ExcelBatchReadListener} are committed and reading without one
+     * throws {@link ExcelInitException}.
+     * A resumed read of a file with the same fingerprint skips the committed body rows without mapping them,
+     * the checkpoint is cleared once the whole sheet or the whole {@link #range(int, int)} has been read
+     *
+     * @param store       Checkpoint store
+     * @param key         Import key, such as the upload id plus the sheet name
+     * @param fingerprint Fingerprint of the imported file, such as a content hash
+     * @return this
+     */
+    public ExcelBindReader<R> checkpoint(ExcelCheckpointStore store, String key, String fingerprint) {
+        ParamUtils.requireNonNull(store, "Checkpoint store cannot be null");
+        ParamUtils.requireNonNull(key, "Checkpoint key cannot be null");
+        ParamUtils.requireNonNull(fingerprint, "Checkpoint fingerprint cannot be null");
+        this.context.setCheckpointStore(store);
+        this.context.setCheckpointKey(key);
+        this.context.setFingerprint(fingerprint);
+        return this;
+    }
+
+    /**
+     * Collect the failed assertions and conversions of all cells instead of throwing at the first one,
+     * so every error of the file can be reported in one pass.
+     * Get the collected errors from {@link #getErrorReport()} after reading
+     *
+     * @param maxErrors       Maximum number of kept errors, further errors are only counted
+     * @param keepInvalidRows Whether rows with errors are still handed to the listeners and returned,
+     *                        the failed cells are left unset
+     * @return this
+     */
+    public ExcelBindReader<R> collectErrors(int maxErrors, boolean keepInvalidRows) {
+        this.context.setErrorReport(new ExcelErrorReport(maxErrors, keepInvalidRows));
+        return this;
+    }
+
+    /**
+     * Get the errors collected by {@link #collectErrors(int, boolean)}
+     *
+     * @return Error report, null if errors are not collected
+     */
+    public ExcelErrorReport getErrorReport() {
+        return this.context.getErrorReport();
+    }
+
     /**
      * Read rows before the header
      *
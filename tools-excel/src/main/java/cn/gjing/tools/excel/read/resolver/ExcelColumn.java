@@ -0,0 +1,123 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import java.lang.reflect.Field;
+import java.util.BitSet;
+
+/**
+ * A typed column vector filled by the columnar reader, one value per body row.
+ * Blank cells are recorded in a null bitset instead of boxing the values
+ *
+ * @author Gjing
+ **/
+public abstract class ExcelColumn {
+    /**
+     * Excel field of the column
+     */
+    protected final Field field;
+
+    /**
+     * Col index in the sheet
+     */
+    protected final int colIndex;
+
+    /**
+     * Rows whose cell is blank
+     */
+    protected final BitSet nulls = new BitSet();
+
+    /**
+     * Number of values
+     */
+    protected int size;
+
+    ExcelColumn(Field field, int colIndex) {
+        this.field = field;
+        this.colIndex = colIndex;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Get the name of the excel field
+     *
+     * @return Field name
+     */
+    public String getName() {
+        return this.field.getName();
+    }
+
+    public int getColIndex() {
+        return colIndex;
+    }
+
+    /**
+     * Number of values in the column
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the cell of the row is blank
+     *
+     * @param row Row index of the column, start at 0
+     * @return boolean
+     */
+    public boolean isNull(int row) {
+        this.checkIndex(row);
+        return this.nulls.get(row);
+    }
+
+    /**
+     * Append a blank cell
+     */
+    void appendNull() {
+        this.nulls.set(this.next());
+    }
+
+    /**
+     * Get the boxed value of the row
+     *
+     * @param row Row index of the column, start at 0
+     * @return value, null if the cell is blank
+     */
+    public abstract Object getObject(int row);
+
+    /**
+     * Reserve the slot of the next value
+     *
+     * @return Index of the slot
+     */
+    protected int next() {
+        this.ensureCapacity(this.size + 1);
+        return this.size++;
+    }
+
+    /**
+     * Grow the value array to hold at least the capacity
+     *
+     * @param capacity Minimum capacity
+     */
+    protected abstract void ensureCapacity(int capacity);
+
+    /**
+     * The new capacity of a growable array
+     *
+     * @param length   Current length
+     * @param capacity Minimum capacity
+     * @return New length
+     */
+    protected static int grow(int length, int capacity) {
+        return Math.max(capacity, length < 16 ? 16 : length + (length >> 1));
+    }
+
+    protected void checkIndex(int row) {
+        if (row < 0 || row >= this.size) {
+            throw new IndexOutOfBoundsException("Row index " + row + " out of column size " + this.size);
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import cn.gjing.tools.excel.Excel;
+import cn.gjing.tools.excel.ExcelField;
+import cn.gjing.tools.excel.exception.ExcelResolverException;
+import cn.gjing.tools.excel.exception.ExcelTemplateException;
+import cn.gjing.tools.excel.metadata.bind.ExcelClassBinder;
+import cn.gjing.tools.excel.metadata.bind.ExcelTypeCoercer;
+import cn.gjing.tools.excel.read.ExcelReaderContext;
+import cn.gjing.tools.excel.util.ParamUtils;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Excel columnar mode reader
+ * The header is mapped to the excel fields of the entity like the bind reader,
+ * but the body is filled into one primitive or dictionary encoded column vector per field instead of one entity per row.
+ * Cell values are stored as read, data converters, EL expressions, assertions and read listeners are not applied
+ *
+ * @author Gjing
+ **/
+public final class ExcelColumnarReader<R> extends ExcelBaseReader<R> {
+    public ExcelColumnarReader(ExcelReaderContext<R> context, InputStream inputStream, Excel excel) {
+        super(context, inputStream, excel);
+    }
+
+    public ExcelColumnarReader(ExcelReaderContext<R> context, File file, boolean deleteFile, Excel excel) {
+        super(context, file, deleteFile, excel);
+    }
+
+    /**
+     * Read excel
+     *
+     * @return Column vectors of the body
+     */
+    public ExcelColumns read() {
+        return this.read(0, this.defaultSheetName);
+    }
+
+    /**
+     * Read the specified sheet
+     *
+     * @param sheetName sheet name
+     * @return Column vectors of the body
+     */
+    public ExcelColumns read(String sheetName) {
+        return this.read(0, sheetName);
+    }
+
+    /**
+     * Specifies that the Excel subscript to start reading.
+     *
+     * @param headerIndex The actual subscript of the Excel header,
+     *                    subscript is evaluated from 0
+     * @return Column vectors of the body
+     */
+    public ExcelColumns read(int headerIndex) {
+        return this.read(headerIndex, this.defaultSheetName);
+    }
+
+    /**
+     * Read the specified sheet
+     *
+     * @param headerIndex The actual subscript of the Excel header,
+     *                    subscript is evaluated from 0
+     * @param sheetName   Excel Sheet name
+     * @return Column vectors of the body
+     */
+    public ExcelColumns read(int headerIndex, String sheetName) {
+        ExcelReadExecutor.checkTemplate(this.context, this.getRowSource());
+        Iterator<? extends RowCells> rows = this.getRowSource().rows(sheetName);
+        ColumnSlot[] slots = new ColumnSlot[0];
+        ExcelColumns columns = null;
+        while (rows.hasNext()) {
+            RowCells row = rows.next();
+            if (row.getRowNum() < headerIndex) {
+                continue;
+            }
+            if (row.getRowNum() == headerIndex) {
+                slots = this.bindColumns(row);
+                List<ExcelColumn> columnList = new ArrayList<>(slots.length);
+                for (ColumnSlot slot : slots) {
+                    columnList.add(slot.column);
+                }
+                columns = new ExcelColumns(columnList);
+                continue;
+            }
+            if (columns == null) {
+                continue;
+            }
+            columns.appendRow(row.getRowNum());
+            for (ColumnSlot slot : slots) {
+                slot.append(row);
+            }
+        }
+        return columns == null ? new ExcelColumns(Collections.emptyList()) : columns;
+    }
+
+    /**
+     * Check whether the imported Excel file matches the Excel mapping entity class.
+     * Thrown {@link ExcelTemplateException} if there is don't match.
+     *
+     * @return this
+     **/
+    public ExcelColumnarReader<R> check() {
+        this.context.setCheckTemplate(true);
+        return this;
+    }
+
+    /**
+     * Check whether the imported Excel file matches the Excel mapping entity class.
+     * Thrown {@link ExcelTemplateException} if there is don't match.
+     *
+     * @param key Unique key
+     * @return this
+     **/
+    public ExcelColumnarReader<R> check(String key) {
+        this.context.setCheckTemplate(true);
+        if (!StringUtils.isEmpty(key)) {
+            this.context.setUniqueKey(key);
+        }
+        return this;
+    }
+
+    /**
+     * Resolve the header into the column slots of the mapped excel fields
+     *
+     * @param row Header row
+     * @return Column slots ordered by col index
+     */
+    private ColumnSlot[] bindColumns(RowCells row) {
+        Map<String, Field> excelFieldMap = this.context.getExcelFieldMap();
+        ExcelClassBinder classBinder = ExcelClassBinder.of(this.context.getExcelClass());
+        List<ColumnSlot> slots = new ArrayList<>();
+        for (int c = 0, last = row.getLastCellNum(); c < last; c++) {
+            if (!row.select(c)) {
+                continue;
+            }
+            String head = row.getStringCellValue();
+            if (ParamUtils.contains(this.context.getIgnores(), head)) {
+                continue;
+            }
+            Field field = excelFieldMap.get(head);
+            if (field == null) {
+                field = excelFieldMap.get(head + ParamUtils.numberToEn(c));
+            }
+            if (field == null) {
+                continue;
+            }
+            slots.add(new ColumnSlot(c, field, classBinder.getBinder(field).getCoercer()));
+        }
+        return slots.toArray(new ColumnSlot[0]);
+    }
+
+    /**
+     * Value kind of a column, chosen from the field type.
+     * BigDecimal and BigInteger fields are string columns, a double or long column would lose their precision
+     */
+    private enum Kind {
+        DOUBLE, LONG, DATE, INT, BOOLEAN, STRING;
+
+        static Kind of(Class<?> type) {
+            if (type == double.class || type == Double.class || type == float.class || type == Float.class) {
+                return DOUBLE;
+            }
+            if (type == long.class || type == Long.class) {
+                return LONG;
+            }
+            if (type == int.class || type == Integer.class || type == short.class || type == Short.class
+                    || type == byte.class || type == Byte.class) {
+                return INT;
+            }
+            if (type == boolean.class || type == Boolean.class) {
+                return BOOLEAN;
+            }
+            if (type == Date.class || type == LocalDate.class || type == LocalDateTime.class) {
+                return DATE;
+            }
+            return STRING;
+        }
+    }
+
+    /**
+     * A mapped column and the vector its cells are appended to
+     */
+    private static final class ColumnSlot {
+        private final int colIndex;
+        private final Kind kind;
+        private final ExcelColumn column;
+        private final Class<?> type;
+        private final ExcelTypeCoercer coercer;
+        private final boolean trim;
+
+        ColumnSlot(int colIndex, Field field, ExcelTypeCoercer coercer) {
+            this.colIndex = colIndex;
+            this.type = field.getType();
+            this.kind = Kind.of(this.type);
+            this.coercer = coercer;
+            this.trim = field.getAnnotation(ExcelField.class).trim();
+            switch (this.kind) {
+                case DOUBLE:
+                    this.column = new DoubleColumn(field, colIndex);
+                    break;
+                case LONG:
+                case DATE:
+                    this.column = new LongColumn(field, colIndex);
+                    break;
+                case INT:
+                    this.column = new IntColumn(field, colIndex);
+                    break;
+                case BOOLEAN:
+                    this.column = new BooleanColumn(field, colIndex);
+                    break;
+                default:
+                    this.column = new StringColumn(field, colIndex);
+            }
+        }
+
+        /**
+         * Append the cell of the column in the row
+         *
+         * @param row Body row
+         */
+        void append(RowCells row) {
+            if (!row.select(this.colIndex)) {
+                this.column.appendNull();
+                return;
+            }
+            try {
+                switch (row.getCellType()) {
+                    case _NONE:
+                    case BLANK:
+                    case ERROR:
+                        this.column.appendNull();
+                        break;
+                    case NUMERIC:
+                        if (this.kind == Kind.DATE) {
+                            ((LongColumn) this.column).append(row.getDateCellValue().getTime());
+                        } else {
+                            this.appendNumeric(row.getNumericCellValue());
+                        }
+                        break;
+                    case BOOLEAN:
+                        boolean value = row.getBooleanCellValue();
+                        if (this.kind == Kind.BOOLEAN) {
+                            ((BooleanColumn) this.column).append(value);
+                        } else if (this.kind == Kind.STRING) {
+                            ((StringColumn) this.column).append(String.valueOf(value));
+                        } else if (this.kind == Kind.DATE) {
+                            throw new IllegalArgumentException("Expected a date but was the boolean " + value);
+                        } else {
+                            this.appendNumeric(value ? 1 : 0);
+                        }
+                        break;
+                    default:
+                        this.appendString(row.getStringCellValue());
+                }
+            } catch (RuntimeException e) {
+                throw new ExcelResolverException("Read " + this.column.getName() + " failure at row " + row.getRowNum()
+                        + ", column " + this.colIndex + ", " + e.getMessage());
+            }
+        }
+
+        private void appendNumeric(double value) {
+            switch (this.kind) {
+                case DOUBLE:
+                    ((DoubleColumn) this.column).append(value);
+                    break;
+                case LONG:
+                    ((LongColumn) this.column).append(toLong(value));
+                    break;
+                case INT:
+                    ((IntColumn) this.column).append(toInt(value));
+                    break;
+                case BOOLEAN:
+                    ((BooleanColumn) this.column).append(value != 0);
+                    break;
+                default:
+                    ((StringColumn) this.column).append(NumberToTextConverter.toText(value));
+            }
+        }
+
+        private void appendString(String value) {
+            if (value != null && this.trim) {
+                value = value.trim();
+            }
+            if (this.kind == Kind.STRING) {
+                ((StringColumn) this.column).append(value);
+                return;
+            }
+            if (value == null || value.isEmpty()) {
+                this.column.appendNull();
+                return;
+            }
+            switch (this.kind) {
+                case DOUBLE:
+                    ((DoubleColumn) this.column).append(Double.parseDouble(value));
+                    break;
+                case LONG:
+                    ((LongColumn) this.column).append(((Number) this.coercer.coerce(value)).longValue());
+                    break;
+                case INT:
+                    ((IntColumn) this.column).append(((Number) this.coercer.coerce(value)).intValue());
+                    break;
+                case BOOLEAN:
+                    ((BooleanColumn) this.column).append(Boolean.parseBoolean(value));
+                    break;
+                default:
+                    ((LongColumn) this.column).append(this.parseDate(value));
+            }
+        }
+
+        /**
+         * Parse the string of a date column, LocalDate and LocalDateTime in ISO format, Date through the coercer
+         *
+         * @param value String cell value
+         * @return Epoch millisecond
+         */
+        private long parseDate(String value) {
+            if (this.type == LocalDate.class) {
+                return toEpochMilli(LocalDate.parse(value));
+            }
+            if (this.type == LocalDateTime.class) {
+                return toEpochMilli(LocalDateTime.parse(value));
+            }
+            return toEpochMilli(this.coercer.coerce(value));
+        }
+
+        private static long toLong(double value) {
+            long integral = (long) value;
+            if (integral != value) {
+                throw new NumberFormatException("Expected long but was " + value);
+            }
+            return integral;
+        }
+
+        private static int toInt(double value) {
+            int integral = (int) value;
+            if (integral != value) {
+                throw new NumberFormatException("Expected int but was " + value);
+            }
+            return integral;
+        }
+
+        private static long toEpochMilli(Object date) {
+            if (date instanceof Date) {
+                return ((Date) date).getTime();
+            }
+            if (date instanceof LocalDate) {
+                return ((LocalDate) date).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            }
+            return ((LocalDateTime) date).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+}
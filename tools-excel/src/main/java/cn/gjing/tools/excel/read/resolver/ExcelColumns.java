@@ -0,0 +1,108 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import java.util.*;
+
+/**
+ * The body of a sheet read by the columnar reader, one column vector per mapped excel field
+ *
+ * @author Gjing
+ **/
+public final class ExcelColumns {
+    private final List<ExcelColumn> columns;
+    private final Map<String, ExcelColumn> columnMap;
+    private int[] rowNums = new int[0];
+    private int rowCount;
+
+    ExcelColumns(List<ExcelColumn> columns) {
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+        this.columnMap = new HashMap<>(columns.size() * 2);
+        for (ExcelColumn column : columns) {
+            this.columnMap.put(column.getName(), column);
+        }
+    }
+
+    /**
+     * Record the sheet row index of the next body row, called before its values are appended to the columns
+     *
+     * @param rowNum Row index in the sheet
+     */
+    void appendRow(int rowNum) {
+        if (this.rowCount == this.rowNums.length) {
+            this.rowNums = Arrays.copyOf(this.rowNums, ExcelColumn.grow(this.rowNums.length, this.rowCount + 1));
+        }
+        this.rowNums[this.rowCount++] = rowNum;
+    }
+
+    /**
+     * Number of body rows
+     *
+     * @return Row count
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Get the index of the body row in the sheet
+     *
+     * @param row Row index of the columns, start at 0
+     * @return Row index in the sheet
+     */
+    public int getRowNum(int row) {
+        if (row < 0 || row >= this.rowCount) {
+            throw new IndexOutOfBoundsException("Row index " + row + " out of row count " + this.rowCount);
+        }
+        return this.rowNums[row];
+    }
+
+    /**
+     * All columns ordered by col index
+     *
+     * @return Unmodifiable column list
+     */
+    public List<ExcelColumn> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Get the column of the excel field
+     *
+     * @param fieldName Field name of the excel entity
+     * @return Column, null if the field is not in the sheet
+     */
+    public ExcelColumn getColumn(String fieldName) {
+        return this.columnMap.get(fieldName);
+    }
+
+    public DoubleColumn getDoubleColumn(String fieldName) {
+        return this.getColumn(fieldName, DoubleColumn.class);
+    }
+
+    public LongColumn getLongColumn(String fieldName) {
+        return this.getColumn(fieldName, LongColumn.class);
+    }
+
+    public IntColumn getIntColumn(String fieldName) {
+        return this.getColumn(fieldName, IntColumn.class);
+    }
+
+    public BooleanColumn getBooleanColumn(String fieldName) {
+        return this.getColumn(fieldName, BooleanColumn.class);
+    }
+
+    public StringColumn getStringColumn(String fieldName) {
+        return this.getColumn(fieldName, StringColumn.class);
+    }
+
+    private <C extends ExcelColumn> C getColumn(String fieldName, Class<C> columnType) {
+        ExcelColumn column = this.columnMap.get(fieldName);
+        if (column == null) {
+            return null;
+        }
+        if (!columnType.isInstance(column)) {
+            throw new IllegalArgumentException("Column " + fieldName + " is a " + column.getClass().getSimpleName()
+                    + ", not a " + columnType.getSimpleName());
+        }
+        return columnType.cast(column);
+    }
+}
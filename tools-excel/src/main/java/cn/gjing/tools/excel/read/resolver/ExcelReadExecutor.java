@@ -3,243 +3,856 @@ package cn.gjing.tools.excel.read.resolver;
 import cn.gjing.tools.excel.ExcelField;
 import cn.gjing.tools.excel.convert.DataConvert;
 import cn.gjing.tools.excel.convert.DefaultDataConvert;
-import cn.gjing.tools.excel.convert.ExcelDataConvert;
 import cn.gjing.tools.excel.exception.ExcelAssertException;
 import cn.gjing.tools.excel.exception.ExcelInitException;
 import cn.gjing.tools.excel.exception.ExcelResolverException;
 import cn.gjing.tools.excel.exception.ExcelTemplateException;
 import cn.gjing.tools.excel.metadata.RowType;
+import cn.gjing.tools.excel.metadata.bind.ExcelClassBinder;
+import cn.gjing.tools.excel.metadata.bind.ExcelFieldBinder;
 import cn.gjing.tools.excel.metadata.listener.ExcelListener;
 import cn.gjing.tools.excel.metadata.resolver.ExcelReaderResolver;
 import cn.gjing.tools.excel.read.ExcelReaderContext;
-import cn.gjing.tools.excel.read.valid.ExcelAssert;
+import cn.gjing.tools.excel.read.checkpoint.ExcelCheckpoint;
+import cn.gjing.tools.excel.read.listener.ExcelBatchReadListener;
+import cn.gjing.tools.excel.read.listener.ExcelEmptyReadListener;
+import cn.gjing.tools.excel.read.listener.ExcelRowReadListener;
+import cn.gjing.tools.excel.read.valid.ExcelErrorReport;
+import cn.gjing.tools.excel.read.valid.ExcelReadError;
 import cn.gjing.tools.excel.util.BeanUtils;
 import cn.gjing.tools.excel.util.ListenerChain;
 import cn.gjing.tools.excel.util.ParamUtils;
-import com.google.gson.Gson;
-import com.monitorjbl.xlsx.impl.StreamingWorkbook;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.CellType;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Type;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * @author Gjing
  **/
 class ExcelReadExecutor<R> implements ExcelReaderResolver<R> {
+    private final ExcelRowSource rowSource;
     private ExcelReaderContext<R> context;
+    private ExcelClassBinder classBinder;
     private Map<Class<? extends DataConvert<?>>, DataConvert<?>> dataConvertMap;
-    private Boolean save;
-    private Gson gson;
+    private final List<AbstractRowIterator> openIterators = new ArrayList<>();
+    private ThreadPoolExecutor workerPool;
+
+    ExcelReadExecutor(ExcelRowSource rowSource) {
+        this.rowSource = rowSource;
+    }
 
     @Override
     public void init(ExcelReaderContext<R> readerContext) {
         this.context = readerContext;
-        this.dataConvertMap = new HashMap<>(16);
+        this.classBinder = ExcelClassBinder.of(readerContext.getExcelClass());
+        this.dataConvertMap = new ConcurrentHashMap<>(16);
         this.dataConvertMap.put(DefaultDataConvert.class, new DefaultDataConvert());
-        this.gson = new Gson();
     }
 
     @Override
     public void read(int headerIndex, String sheetName) {
-        if (this.context.isCheckTemplate()) {
+        List<R> dataList = this.context.getResultReadListener() == null ? null : new ArrayList<>();
+        Iterator<R> iterator = this.iterator(headerIndex, sheetName);
+        while (iterator.hasNext()) {
+            R r = iterator.next();
+            if (dataList != null) {
+                dataList.add(r);
+            }
+        }
+        if (this.context.getResultReadListener() != null) {
+            this.context.getResultReadListener().notify(dataList);
+        }
+    }
+
+    @Override
+    public Iterator<R> iterator(int headerIndex, String sheetName) {
+        checkTemplate(this.context, this.rowSource);
+        Iterator<? extends RowCells> rows = this.rowSource.rows(sheetName);
+        AbstractRowIterator iterator = this.context.getWorkers() > 0
+                ? new PipelinedRowIterator(rows, headerIndex, this.context.getListenerCache())
+                : new SequentialRowIterator(rows, headerIndex, this.context.getListenerCache());
+        this.openIterators.add(iterator);
+        return iterator;
+    }
+
+    /**
+     * Stop the open iterators and shut down the worker pool,
+     * waits for the rows being mapped so no converter or listener runs afterwards
+     */
+    @Override
+    public void close() {
+        List<AbstractRowIterator> iterators = new ArrayList<>(this.openIterators);
+        this.openIterators.clear();
+        try {
+            for (AbstractRowIterator iterator : iterators) {
+                iterator.close();
+            }
+        } finally {
+            if (this.workerPool != null) {
+                this.workerPool.shutdownNow();
+                try {
+                    this.workerPool.awaitTermination(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                this.workerPool = null;
+            }
+        }
+    }
+
+    /**
+     * Get the worker pool of the reader, it is created on first use and shared by the pipelined reads of all sheets
+     *
+     * @param workers The number of worker threads
+     * @return Worker pool
+     */
+    private ThreadPoolExecutor getWorkerPool(int workers) {
+        ThreadPoolExecutor pool = this.workerPool;
+        if (pool == null) {
+            pool = new ThreadPoolExecutor(workers, workers, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "excel-read-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            pool.allowCoreThreadTimeOut(true);
+            this.workerPool = pool;
+        } else if (workers > pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(workers);
+            pool.setCorePoolSize(workers);
+        } else if (workers < pool.getMaximumPoolSize()) {
+            pool.setCorePoolSize(workers);
+            pool.setMaximumPoolSize(workers);
+        }
+        return pool;
+    }
+
+    /**
+     * Cell and empty listeners are called while a body row is mapped,
+     * a pipelined read would call them from the worker threads, so they are refused
+     *
+     * @param listeners Read listeners
+     */
+    private static void checkPipelined(List<ExcelListener> listeners) {
+        for (ExcelListener listener : listeners) {
+            if (listener instanceof ExcelEmptyReadListener || listener instanceof ExcelRowReadListener && overridesReadCell(listener)) {
+                throw new ExcelInitException("A pipelined read cannot call " + listener.getClass().getName()
+                        + " from the worker threads, remove the cell or empty listener or read without workers");
+            }
+        }
+    }
+
+    private static boolean overridesReadCell(ExcelListener listener) {
+        try {
+            return listener.getClass().getMethod("readCell", Object.class, Field.class, int.class, int.class, RowType.class)
+                    .getDeclaringClass() != ExcelRowReadListener.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    /**
+     * The index of the body row to resume from, the checkpoint of another file is ignored
+     *
+     * @return Number of committed body rows
+     */
+    private int resumeIndex() {
+        if (this.context.getCheckpointStore() == null) {
+            return 0;
+        }
+        ExcelCheckpoint checkpoint = this.context.getCheckpointStore().load(this.context.getCheckpointKey());
+        if (checkpoint == null || !ParamUtils.equals(checkpoint.getFingerprint(), this.context.getFingerprint(), false)) {
+            return 0;
+        }
+        return checkpoint.getCommitted();
+    }
+
+    /**
+     * Check whether the workbook was exported by the current mapping entity
+     *
+     * @param context   Excel reader context
+     * @param rowSource Rows of the workbook
+     */
+    static void checkTemplate(ExcelReaderContext<?> context, ExcelRowSource rowSource) {
+        if (context.isCheckTemplate()) {
             String key = "excelUnqSheet";
-            if (this.context.getWorkbook().getSheetIndex(key) == -1) {
+            if (!rowSource.hasSheet(key)) {
                 throw new ExcelTemplateException();
             }
-            for (Row row : this.context.getWorkbook().getSheet(key)) {
-                if (!ParamUtils.equals(ParamUtils.encodeMd5(this.context.getUniqueKey()), row.getCell(0).getStringCellValue(), false)) {
+            Iterator<? extends RowCells> rows = rowSource.rows(key);
+            if (rows.hasNext()) {
+                RowCells row = rows.next();
+                String uniqueKey = row.select(0) ? row.getStringCellValue() : null;
+                if (!ParamUtils.equals(ParamUtils.encodeMd5(context.getUniqueKey()), uniqueKey, false)) {
                     throw new ExcelTemplateException();
                 }
-                break;
             }
-            this.context.setCheckTemplate(false);
+            context.setCheckTemplate(false);
+        }
+    }
+
+    /**
+     * Pulls the rows of the sheet one by one, rows before the header and the header itself
+     * are only passed to the listeners, the mapped body rows are handed to the batch listeners and returned
+     */
+    @SuppressWarnings("unchecked")
+    private abstract class AbstractRowIterator implements Iterator<R> {
+        protected final Iterator<? extends RowCells> rows;
+        protected final int headerIndex;
+        protected final List<ExcelListener> rowReadListeners;
+        protected final boolean observed;
+        protected ColumnBinding[] bindings = new ColumnBinding[0];
+        protected boolean stop;
+        protected boolean rangeEnded;
+        protected int bodyIndex;
+        private final int start;
+        private final List<ExcelBatchReadListener<R>> batchListeners;
+        private final List<List<R>> batches;
+        private final int[] batchEnds;
+        private final int[] committed;
+        private int checkpoint;
+        private R next;
+        private boolean finished;
+
+        AbstractRowIterator(Iterator<? extends RowCells> rows, int headerIndex, List<ExcelListener> rowReadListeners) {
+            this.rows = rows;
+            this.headerIndex = headerIndex;
+            this.rowReadListeners = rowReadListeners;
+            this.observed = isObserved(rowReadListeners);
+            this.batchListeners = new ArrayList<>();
+            this.batches = new ArrayList<>();
+            for (ExcelListener listener : rowReadListeners) {
+                if (listener instanceof ExcelBatchReadListener) {
+                    ExcelBatchReadListener<R> batchListener = (ExcelBatchReadListener<R>) listener;
+                    if (batchListener.batchSize() < 1) {
+                        throw new ExcelInitException("Batch size must be greater than 0, but was " + batchListener.batchSize());
+                    }
+                    this.batchListeners.add(batchListener);
+                    this.batches.add(new ArrayList<>(batchListener.batchSize()));
+                }
+            }
+            if (context.getCheckpointStore() != null && this.batchListeners.isEmpty()) {
+                throw new ExcelInitException("A resumable import needs an ExcelBatchReadListener, only the rows it has handled are committed");
+            }
+            this.checkpoint = resumeIndex();
+            this.start = Math.max(context.getRangeStart(), this.checkpoint);
+            this.batchEnds = new int[this.batches.size()];
+            this.committed = new int[this.batches.size()];
+            Arrays.fill(this.committed, this.checkpoint);
+            ListenerChain.doReadBefore(rowReadListeners);
+        }
+
+        /**
+         * Fetch the next mapped body row
+         *
+         * @return The mapped body row, null if there are no more rows
+         */
+        protected abstract Mapped<R> fetch();
+
+        /**
+         * Release the resources of the iterator, called once when the rows are exhausted, the read failed or the iterator is closed
+         */
+        protected void release() {
+        }
+
+        /**
+         * The end of the leading body rows that are all delivered or skipped once the row has been delivered,
+         * the checkpoint never passes it
+         *
+         * @param mapped The delivered body row
+         * @return Body index after the leading completed rows
+         */
+        protected int completedEnd(Mapped<R> mapped) {
+            return mapped.index + 1;
+        }
+
+        /**
+         * Stop reading before the rows are exhausted, the buffered batches of the rows read so far are handed over
+         */
+        void close() {
+            if (!this.finished) {
+                this.end();
+                this.next = null;
+                for (int i = 0; i < this.batches.size(); i++) {
+                    this.flush(i);
+                }
+            }
         }
-        if (this.context.getWorkbook() instanceof StreamingWorkbook) {
+
+        private void end() {
+            this.finished = true;
+            openIterators.remove(this);
+            this.release();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.next == null && !this.finished) {
+                Mapped<R> mapped;
+                try {
+                    mapped = this.fetch();
+                } catch (RuntimeException e) {
+                    this.end();
+                    throw e;
+                }
+                if (mapped == null) {
+                    this.end();
+                    for (int i = 0; i < this.batches.size(); i++) {
+                        this.flush(i);
+                    }
+                    if (context.getCheckpointStore() != null && (!this.stop || this.rangeEnded)) {
+                        context.getCheckpointStore().clear(context.getCheckpointKey());
+                    }
+                    ListenerChain.doReadFinish(this.rowReadListeners);
+                } else {
+                    this.deliver(mapped);
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public R next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            R r = this.next;
+            this.next = null;
+            return r;
+        }
+
+        /**
+         * Read a row before the body
+         *
+         * @param row Current row
+         * @return True if the row is a body row and has not been read
+         */
+        protected boolean readBeforeBody(RowCells row) {
+            List<ExcelListener> rowReadListeners = this.rowReadListeners;
+            if (row.getRowNum() < this.headerIndex) {
+                if (context.isHeadBefore()) {
+                    List<Object> otherValues = new ArrayList<>();
+                    for (int c = 0, last = row.getLastCellNum(); c < last; c++) {
+                        if (!row.select(c)) {
+                            continue;
+                        }
+                        Object value = getOtherValue(row);
+                        otherValues.add(ListenerChain.doReadCell(rowReadListeners, value, null, row.getRowNum(), c, RowType.OTHER));
+                    }
+                    this.stop = ListenerChain.doReadRow(rowReadListeners, null, otherValues, row.getRowNum(), RowType.OTHER);
+                }
+                return false;
+            }
+            if (row.getRowNum() == this.headerIndex) {
+                List<String> headNames = context.getHeadNames();
+                for (int c = 0, last = row.getLastCellNum(); c < last; c++) {
+                    if (!row.select(c)) {
+                        continue;
+                    }
+                    String value = row.getStringCellValue();
+                    if (ParamUtils.contains(context.getIgnores(), value)) {
+                        value = "ignored";
+                    }
+                    headNames.add(String.valueOf(ListenerChain.doReadCell(rowReadListeners, value, null, row.getRowNum(), c, RowType.HEAD)));
+                }
+                this.bindings = bindColumns(headNames, this.observed);
+                this.stop = ListenerChain.doReadRow(rowReadListeners, null, headNames, row.getRowNum(), RowType.HEAD);
+                int end = context.getRangeEnd();
+                if (end >= 0 && end <= this.start) {
+                    // nothing is left in the range, the body is not read at all
+                    this.stop = true;
+                    this.rangeEnded = true;
+                }
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Count the body row and check whether it is in the read range,
+         * reading stops once the last body row of the range has been counted
+         *
+         * @return True if the body row needs to be mapped
+         */
+        protected boolean inRange() {
+            int index = this.bodyIndex++;
+            int end = context.getRangeEnd();
+            if (end >= 0 && this.bodyIndex >= end) {
+                this.stop = true;
+                this.rangeEnded = true;
+            }
+            return index >= this.start && (end < 0 || index < end);
+        }
+
+        /**
+         * Pass the mapped body row to the row and batch listeners
+         *
+         * @param mapped Mapped body row
+         */
+        private void deliver(Mapped<R> mapped) {
             try {
-                this.context.setSheet(this.context.getWorkbook().getSheet(sheetName));
+                ListenerChain.doReadRow(this.rowReadListeners, mapped.r, null, mapped.rowNum, RowType.BODY);
             } catch (Exception e) {
-                throw new ExcelResolverException("The" + sheetName + " is not found in the workbook");
+                throw new ExcelResolverException(e.getMessage());
+            }
+            int end = this.completedEnd(mapped);
+            for (int i = 0; i < this.batches.size(); i++) {
+                this.batches.get(i).add(mapped.r);
+                this.batchEnds[i] = end;
+                if (this.batches.get(i).size() >= this.batchListeners.get(i).batchSize()) {
+                    this.flush(i);
+                }
+            }
+            this.next = mapped.r;
+        }
+
+        /**
+         * Hand over the buffered batch of the batch listener and clear it
+         *
+         * @param i Index of the batch listener
+         */
+        private void flush(int i) {
+            List<R> batch = this.batches.get(i);
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                this.batchListeners.get(i).readBatch(batch);
+            } catch (Exception e) {
+                throw new ExcelResolverException(e.getMessage());
+            } finally {
+                batch.clear();
+            }
+            this.committed[i] = this.batchEnds[i];
+            this.commit();
+        }
+
+        /**
+         * Save the checkpoint once every batch listener has handled the rows before it
+         */
+        private void commit() {
+            if (context.getCheckpointStore() == null) {
+                return;
             }
-        } else {
-            Sheet sheet = this.context.getWorkbook().getSheet(sheetName);
-            if (sheet == null) {
-                throw new ExcelResolverException("The" + sheetName + " is not found in the workbook");
+            int min = Integer.MAX_VALUE;
+            for (int end : this.committed) {
+                min = Math.min(min, end);
+            }
+            if (min > this.checkpoint) {
+                this.checkpoint = min;
+                context.getCheckpointStore().save(context.getCheckpointKey(), new ExcelCheckpoint(context.getFingerprint(), min));
             }
-            this.context.setSheet(sheet);
         }
-        this.reader(headerIndex, this.context.getResultReadListener() == null ? null : new ArrayList<>(), this.context.getListenerCache(),
-                new SpelExpressionParser(), new StandardEvaluationContext());
     }
 
     /**
-     * Start read
-     *
-     * @param headerIndex Excel header index
-     * @param dataList    All data
+     * Parses and maps the rows on the calling thread
      */
-    private void reader(int headerIndex, List<R> dataList, List<ExcelListener> rowReadListeners, ExpressionParser parser, EvaluationContext context) {
-        R r;
-        this.save = true;
-        boolean stop = false;
-        List<Object> otherValues;
-        ListenerChain.doReadBefore(rowReadListeners);
-        for (Row row : this.context.getSheet()) {
-            if (stop) {
-                break;
-            }
-            if (row.getRowNum() < headerIndex) {
-                if (this.context.isHeadBefore()) {
-                    otherValues = new ArrayList<>();
-                    for (Cell cell : row) {
-                        Object value = this.getValue(null, cell, null, null, RowType.OTHER);
-                        otherValues.add(ListenerChain.doReadCell(rowReadListeners, value, null, row.getRowNum(), cell.getColumnIndex(), RowType.OTHER));
+    private final class SequentialRowIterator extends AbstractRowIterator {
+        private final RowMapper mapper;
+
+        SequentialRowIterator(Iterator<? extends RowCells> rows, int headerIndex, List<ExcelListener> rowReadListeners) {
+            super(rows, headerIndex, rowReadListeners);
+            this.mapper = new RowMapper(rowReadListeners, this.observed);
+        }
+
+        @Override
+        protected Mapped<R> fetch() {
+            while (!this.stop && this.rows.hasNext()) {
+                RowCells row = this.rows.next();
+                if (this.readBeforeBody(row) && this.inRange()) {
+                    R r = this.mapper.map(row, this.bindings);
+                    if (r != null) {
+                        return new Mapped<>(row.getRowNum(), this.bodyIndex - 1, r);
                     }
-                    stop = ListenerChain.doReadRow(rowReadListeners, null, otherValues, row.getRowNum(), RowType.OTHER);
                 }
-                continue;
             }
-            if (row.getRowNum() == headerIndex) {
-                for (Cell cell : row) {
-                    String value = cell.getStringCellValue();
-                    if (ParamUtils.contains(this.context.getIgnores(), value)) {
-                        value = "ignored";
+            return null;
+        }
+    }
+
+    /**
+     * Parses the rows on the calling thread and maps the body rows on the worker pool of the reader.
+     * At most {@link ExcelReaderContext#getCapacity()} rows are in flight,
+     * the mapped rows are delivered in sheet order or in completion order
+     */
+    private final class PipelinedRowIterator extends AbstractRowIterator {
+        private final ExecutorService executor;
+        private final CompletionService<Mapped<R>> completionService;
+        private final Deque<Future<Mapped<R>>> inFlight;
+        private final Set<Future<Mapped<R>>> submitted;
+        private final Queue<RowMapper> mappers;
+        private final int capacity;
+        private final boolean ordered;
+        private final TreeSet<Integer> unfinished;
+        private int pending;
+
+        PipelinedRowIterator(Iterator<? extends RowCells> rows, int headerIndex, List<ExcelListener> rowReadListeners) {
+            super(rows, headerIndex, rowReadListeners);
+            checkPipelined(rowReadListeners);
+            int workers = context.getWorkers();
+            this.capacity = context.getCapacity() > 0 ? context.getCapacity() : workers * 64;
+            this.ordered = context.isOrdered();
+            this.executor = getWorkerPool(workers);
+            this.completionService = new ExecutorCompletionService<>(this.executor);
+            this.inFlight = new ArrayDeque<>(this.capacity);
+            this.submitted = new HashSet<>();
+            this.mappers = new ConcurrentLinkedQueue<>();
+            this.unfinished = new TreeSet<>();
+        }
+
+        @Override
+        protected Mapped<R> fetch() {
+            while (true) {
+                while (this.pending < this.capacity && !this.stop && this.rows.hasNext()) {
+                    RowCells row = this.rows.next();
+                    if (this.readBeforeBody(row) && this.inRange()) {
+                        this.submit(row.detach(this.bindings));
                     }
-                    this.context.getHeadNames().add(String.valueOf(ListenerChain.doReadCell(rowReadListeners, value, null, row.getRowNum(), cell.getColumnIndex(), RowType.HEAD)));
                 }
-                stop = ListenerChain.doReadRow(rowReadListeners, null, this.context.getHeadNames(), row.getRowNum(), RowType.HEAD);
-                continue;
+                if (this.pending == 0) {
+                    return null;
+                }
+                Mapped<R> mapped = this.take();
+                if (mapped.r != null) {
+                    return mapped;
+                }
+            }
+        }
+
+        /**
+         * Rows complete out of order when unordered, so only the rows before the lowest row in flight are completed
+         *
+         * @param mapped The delivered body row
+         * @return Body index after the leading completed rows
+         */
+        @Override
+        protected int completedEnd(Mapped<R> mapped) {
+            if (this.ordered) {
+                return super.completedEnd(mapped);
             }
-            if (row.getRowNum() > headerIndex) {
+            return this.unfinished.isEmpty() ? this.bodyIndex : this.unfinished.first();
+        }
+
+        /**
+         * Cancel the rows of the iterator that are still in flight,
+         * the worker pool is shut down and waited for when the reader is finished
+         */
+        @Override
+        protected void release() {
+            for (Future<Mapped<R>> future : this.inFlight) {
+                future.cancel(true);
+            }
+            for (Future<Mapped<R>> future : this.submitted) {
+                future.cancel(true);
+            }
+            this.inFlight.clear();
+            this.submitted.clear();
+        }
+
+        private void submit(RowCells snapshot) {
+            ColumnBinding[] bindings = this.bindings;
+            int index = this.bodyIndex - 1;
+            Callable<Mapped<R>> task = () -> {
+                RowMapper mapper = this.mappers.poll();
+                if (mapper == null) {
+                    mapper = new RowMapper(this.rowReadListeners, this.observed);
+                }
                 try {
-                    r = this.context.getExcelClass().newInstance();
-                    context.setVariable(this.context.getExcelClass().getSimpleName(), r);
-                } catch (InstantiationException | IllegalAccessException e) {
-                    throw new ExcelInitException("Excel entity init failure, " + e.getMessage());
+                    return new Mapped<>(snapshot.getRowNum(), index, mapper.map(snapshot, bindings));
+                } finally {
+                    this.mappers.offer(mapper);
                 }
-                for (int c = 0, size = this.context.getHeadNames().size(); c < size && save; c++) {
-                    String head = this.context.getHeadNames().get(c);
-                    if ("ignored".equals(head)) {
-                        continue;
-                    }
-                    Field field = this.context.getExcelFieldMap().get(head);
-                    if (field == null) {
-                        field = this.context.getExcelFieldMap().get(head + ParamUtils.numberToEn(c));
-                    }
-                    if (field == null) {
-                        continue;
-                    }
-                    ExcelField excelField = field.getAnnotation(ExcelField.class);
-                    Cell valueCell = row.getCell(c);
-                    Object value;
-                    try {
-                        if (valueCell != null) {
-                            value = this.getValue(r, valueCell, field, excelField, RowType.BODY);
-                            context.setVariable(field.getName(), value);
-                            this.assertValue(parser, context, row, c, field, excelField);
-                            value = ListenerChain.doReadCell(rowReadListeners, value, field, row.getRowNum(), c, RowType.BODY);
-                            value = this.convert(r, value, parser, context, field.getAnnotation(ExcelDataConvert.class), this.createDataConvert(field, excelField));
-                            if (save && value != null) {
-                                this.setValue(r, field, value);
-                            }
-                        } else {
-                            this.allowEmpty(r, field, excelField, row.getRowNum(), c);
-                            context.setVariable(field.getName(), null);
-                            this.assertValue(parser, context, row, c, field, excelField);
-                            value = ListenerChain.doReadCell(rowReadListeners, null, field, row.getRowNum(), c, RowType.BODY);
-                            value = this.convert(r, value, parser, context, field.getAnnotation(ExcelDataConvert.class), this.createDataConvert(field, excelField));
-                            this.setValue(r, field, value);
+            };
+            if (this.ordered) {
+                this.inFlight.add(this.executor.submit(task));
+            } else {
+                this.unfinished.add(index);
+                this.submitted.add(this.completionService.submit(task));
+            }
+            this.pending++;
+        }
+
+        private Mapped<R> take() {
+            try {
+                Future<Mapped<R>> future = this.ordered ? this.inFlight.poll() : this.completionService.take();
+                this.pending--;
+                if (!this.ordered) {
+                    this.submitted.remove(future);
+                }
+                Mapped<R> mapped = future.get();
+                if (!this.ordered) {
+                    this.unfinished.remove(mapped.index);
+                }
+                return mapped;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExcelResolverException("Excel read interrupted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new ExcelResolverException(e.getCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Maps body rows to entities, holds the EL context of a thread
+     */
+    private final class RowMapper {
+        private final List<ExcelListener> rowReadListeners;
+        private final boolean observed;
+        private final EvaluationContext context;
+        private boolean save;
+
+        RowMapper(List<ExcelListener> rowReadListeners, boolean observed) {
+            this.rowReadListeners = rowReadListeners;
+            this.observed = observed;
+            this.context = new StandardEvaluationContext();
+        }
+
+        /**
+         * Map the body row
+         *
+         * @param cells    Cells of the body row
+         * @param bindings Column bindings of the header
+         * @return The generated entity, null if the row is skipped
+         */
+        R map(RowCells cells, ColumnBinding[] bindings) {
+            List<ExcelListener> rowReadListeners = this.rowReadListeners;
+            EvaluationContext context = this.context;
+            int rowNum = cells.getRowNum();
+            ExcelErrorReport errorReport = ExcelReadExecutor.this.context.getErrorReport();
+            boolean invalid = false;
+            R r = classBinder.newInstance();
+            this.save = true;
+            context.setVariable(ExcelReadExecutor.this.context.getExcelClass().getSimpleName(), r);
+            for (int i = 0; i < bindings.length && this.save; i++) {
+                ColumnBinding binding = bindings[i];
+                int c = binding.colIndex;
+                ExcelFieldBinder binder = binding.binder;
+                Object value;
+                try {
+                    if (cells.select(c)) {
+                        if (binding.direct && cells.getCellType() == CellType.NUMERIC && !cells.isDateFormatted()) {
+                            binder.setNumeric(r, cells.getNumericCellValue());
+                            continue;
                         }
-                        context.setVariable(field.getName(), value);
-                    } catch (Exception e) {
-                        if (e instanceof ExcelAssertException) {
-                            throw (ExcelAssertException) e;
+                        value = this.getValue(r, cells, binding);
+                        context.setVariable(binding.field.getName(), value);
+                        if (!assertValue(context, binding)) {
+                            invalid = this.reject(errorReport, rowNum, binding);
+                            continue;
                         }
-                        throw new ExcelResolverException(e.getMessage());
-                    }
-                }
-                if (save) {
-                    try {
-                        if (dataList != null) {
-                            dataList.add(r);
+                        value = ListenerChain.doReadCell(rowReadListeners, value, binding.field, rowNum, c, RowType.BODY);
+                        value = convert(r, value, context, binding);
+                        if (this.save && value != null) {
+                            setValue(r, binding, value);
                         }
-                        ListenerChain.doReadRow(rowReadListeners, r, null, row.getRowNum(), RowType.BODY);
-                    } catch (Exception e) {
+                    } else {
+                        this.allowEmpty(r, binding, rowNum);
+                        context.setVariable(binding.field.getName(), null);
+                        if (!assertValue(context, binding)) {
+                            invalid = this.reject(errorReport, rowNum, binding);
+                            continue;
+                        }
+                        value = ListenerChain.doReadCell(rowReadListeners, null, binding.field, rowNum, c, RowType.BODY);
+                        value = convert(r, value, context, binding);
+                        setValue(r, binding, value);
+                    }
+                    context.setVariable(binding.field.getName(), value);
+                } catch (Exception e) {
+                    if (e instanceof ExcelAssertException) {
+                        throw (ExcelAssertException) e;
+                    }
+                    if (errorReport == null) {
                         throw new ExcelResolverException(e.getMessage());
                     }
+                    errorReport.add(new ExcelReadError(rowNum, c, binding.field, e.getMessage(), false));
+                    invalid = true;
                 }
             }
+            if (invalid) {
+                errorReport.addInvalidRow();
+                if (!errorReport.isKeepInvalidRows()) {
+                    return null;
+                }
+            }
+            return this.save ? r : null;
         }
-        ListenerChain.doReadFinish(rowReadListeners);
-        if (this.context.getResultReadListener() != null) {
-            this.context.getResultReadListener().notify(dataList);
+
+        /**
+         * Handle a failed assertion, it is thrown unless errors are collected
+         *
+         * @param errorReport Error report, null if errors are not collected
+         * @param rowIndex    Current row index
+         * @param binding     Binding of current column
+         * @return True
+         */
+        private boolean reject(ExcelErrorReport errorReport, int rowIndex, ColumnBinding binding) {
+            String message = binding.binder.getExcelAssert().message();
+            if (errorReport == null) {
+                throw new ExcelAssertException(message, binding.excelField, binding.field, rowIndex, binding.colIndex);
+            }
+            errorReport.add(new ExcelReadError(rowIndex, binding.colIndex, binding.field, message, true));
+            return true;
+        }
+
+        /**
+         * Get the value of the selected body cell
+         *
+         * @param r       Current row generated row
+         * @param cells   Cells of the body row
+         * @param binding Binding of current column
+         * @return value
+         */
+        private Object getValue(R r, RowCells cells, ColumnBinding binding) {
+            switch (cells.getCellType()) {
+                case _NONE:
+                case BLANK:
+                case ERROR:
+                    this.allowEmpty(r, binding, cells.getRowNum());
+                    break;
+                case BOOLEAN:
+                    return cells.getBooleanCellValue();
+                case NUMERIC:
+                    if (cells.isDateFormatted()) {
+                        return cells.getDateCellValue();
+                    }
+                    return binding.binder.getCoercer().coerce(cells.getNumericCellValue());
+                case FORMULA:
+                    return binding.binder.getCoercer().coerce(cells.getStringCellValue());
+                default:
+                    return binding.trim ? cells.getStringCellValue().trim() : cells.getStringCellValue();
+            }
+            return null;
+        }
+
+        /**
+         * Check is not empty strategy
+         *
+         * @param r        Current row generated java object
+         * @param binding  Binding of current column
+         * @param rowIndex Current row index
+         */
+        private void allowEmpty(R r, ColumnBinding binding, int rowIndex) {
+            if (binding.required) {
+                this.save = ListenerChain.doReadEmpty(ExcelReadExecutor.this.context.getListenerCache(), r, binding.field, rowIndex, binding.colIndex);
+            }
+        }
+    }
+
+    /**
+     * A mapped body row, the entity is null if the row is skipped
+     */
+    private static final class Mapped<R> {
+        private final int rowNum;
+        private final int index;
+        private final R r;
+
+        Mapped(int rowNum, int index, R r) {
+            this.rowNum = rowNum;
+            this.index = index;
+            this.r = r;
         }
     }
 
     /**
-     * Get the value of the cell
+     * Resolve the header into the bindings of the mapped columns
      *
-     * @param cell       cell
-     * @param excelField Excel field of current field
-     * @param field      Current field
-     * @param r          Current row generated row
-     * @param rowType    rowType Current row type
+     * @param headNames Header names, the index is the col index
+     * @param observed  Whether the cell values can be observed
+     * @return Column bindings ordered by col index
+     */
+    private ColumnBinding[] bindColumns(List<String> headNames, boolean observed) {
+        Map<String, Field> excelFieldMap = this.context.getExcelFieldMap();
+        List<ColumnBinding> bindings = new ArrayList<>(headNames.size());
+        for (int c = 0, size = headNames.size(); c < size; c++) {
+            String head = headNames.get(c);
+            if ("ignored".equals(head)) {
+                continue;
+            }
+            Field field = excelFieldMap.get(head);
+            if (field == null) {
+                field = excelFieldMap.get(head + ParamUtils.numberToEn(c));
+            }
+            if (field == null) {
+                continue;
+            }
+            ExcelField excelField = field.getAnnotation(ExcelField.class);
+            bindings.add(new ColumnBinding(c, field, excelField, this.classBinder.getBinder(field), this.createDataConvert(field, excelField),
+                    !observed && excelField.convert() == DefaultDataConvert.class));
+        }
+        return bindings.toArray(new ColumnBinding[0]);
+    }
+
+    /**
+     * Whether the cell values can be observed by listeners or EL expressions before they are set to the entity,
+     * if not, the numeric cells are set directly without boxing
+     *
+     * @param rowReadListeners Read listeners
+     * @return boolean
+     */
+    private boolean isObserved(List<ExcelListener> rowReadListeners) {
+        for (ExcelListener listener : rowReadListeners) {
+            if (listener instanceof ExcelRowReadListener) {
+                return true;
+            }
+        }
+        for (Field field : this.context.getExcelFieldMap().values()) {
+            ExcelFieldBinder binder = this.classBinder.getBinder(field);
+            if (binder.getAssertExpression() != null || binder.getImportExpression() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the value of the selected cell of a row before the body
+     *
+     * @param cells Cells of the row
      * @return value
      */
-    private Object getValue(R r, Cell cell, Field field, ExcelField excelField, RowType rowType) {
-        switch (cell.getCellType()) {
+    private Object getOtherValue(RowCells cells) {
+        switch (cells.getCellType()) {
             case _NONE:
             case BLANK:
             case ERROR:
-                if (rowType == RowType.BODY) {
-                    this.allowEmpty(r, field, excelField, cell.getRowIndex(), cell.getColumnIndex());
-                }
-                break;
+                return null;
             case BOOLEAN:
-                return cell.getBooleanCellValue();
+                return cells.getBooleanCellValue();
             case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getDateCellValue();
+                if (cells.isDateFormatted()) {
+                    return cells.getDateCellValue();
                 }
-                return rowType == RowType.BODY ? gson.fromJson(gson.toJson(cell.getNumericCellValue()), field.getType()) : cell.getNumericCellValue();
-            case FORMULA:
-                return rowType == RowType.BODY ? gson.fromJson(gson.toJson(cell.getStringCellValue()), field.getType()) : cell.getStringCellValue();
+                return cells.getNumericCellValue();
             default:
-                if (excelField == null) {
-                    return cell.getStringCellValue();
-                }
-                return excelField.trim() ? cell.getStringCellValue().trim() : cell.getStringCellValue();
+                return cells.getStringCellValue();
         }
-        return null;
     }
 
     /**
      * Data convert
      *
-     * @param entity           Current entity
-     * @param value            Attribute values
-     * @param parser           El parser
-     * @param dataConvert      dataConvert
-     * @param excelDataConvert excelDataConvert
-     * @param context          EL context
+     * @param entity  Current entity
+     * @param value   Attribute values
+     * @param context EL context
+     * @param binding Binding of current column
      * @return new value
      */
-    private Object convert(R entity, Object value, ExpressionParser parser, EvaluationContext context, ExcelDataConvert excelDataConvert, DataConvert<?> dataConvert) {
-        if (excelDataConvert != null && !"".equals(excelDataConvert.expr2())) {
-            return parser.parseExpression(excelDataConvert.expr2()).getValue(context);
+    private Object convert(R entity, Object value, EvaluationContext context, ColumnBinding binding) {
+        if (binding.binder.getImportExpression() != null) {
+            return binding.binder.getImportExpression().getValue(context);
         }
-        return dataConvert.toEntityAttribute(this.gson.fromJson(this.gson.toJson(entity), (Type) entity.getClass()), value);
+        return binding.dataConvert.toEntityAttribute(BeanUtils.handOver(binding.dataConvert, entity), value);
     }
 
     /**
@@ -254,7 +867,10 @@ class ExcelReadExecutor<R> implements ExcelReaderResolver<R> {
         if (dataConvert == null) {
             try {
                 dataConvert = excelField.convert().newInstance();
-                this.dataConvertMap.put(excelField.convert(), dataConvert);
+                DataConvert<?> existing = this.dataConvertMap.putIfAbsent(excelField.convert(), dataConvert);
+                if (existing != null) {
+                    dataConvert = existing;
+                }
             } catch (Exception e) {
                 throw new ExcelInitException("Init specified excel header data converter failure " + field.getName() + ", " + e.getMessage());
             }
@@ -265,20 +881,22 @@ class ExcelReadExecutor<R> implements ExcelReaderResolver<R> {
     /**
      * Set value for the field of the object
      *
-     * @param o     object
-     * @param field field
-     * @param value value
+     * @param o       object
+     * @param binding Binding of current column
+     * @param value   value
      */
-    private void setValue(R o, Field field, Object value) {
+    private void setValue(R o, ColumnBinding binding, Object value) {
+        ExcelFieldBinder binder = binding.binder;
+        Field field = binding.field;
         try {
-            BeanUtils.setFieldValue(o, field, value);
+            binder.setValue(o, value);
         } catch (RuntimeException e) {
             if (field.getType() == LocalDate.class) {
-                BeanUtils.setFieldValue(o, field, LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()).toLocalDate());
+                binder.setValue(o, LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()).toLocalDate());
                 return;
             }
             if (field.getType() == LocalDateTime.class) {
-                BeanUtils.setFieldValue(o, field, LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()));
+                binder.setValue(o, LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()));
                 return;
             }
             throw new IllegalArgumentException("Unsupported data type, the current cell value type is " + value.getClass().getTypeName()
@@ -286,38 +904,19 @@ class ExcelReadExecutor<R> implements ExcelReaderResolver<R> {
         }
     }
 
-    /**
-     * Check is not empty strategy
-     *
-     * @param field      Current field
-     * @param excelField ExcelFiled annotation on current filed
-     * @param rowIndex   Current row index
-     * @param colIndex   Current col index
-     * @param r          Current row generated java object
-     */
-    private void allowEmpty(R r, Field field, ExcelField excelField, int rowIndex, int colIndex) {
-        if (excelField.required()) {
-            this.save = ListenerChain.doReadEmpty(this.context.getListenerCache(), r, field, rowIndex, colIndex);
-        }
-    }
-
     /**
      * Cell value assert
      *
-     * @param parser     El parser
-     * @param context    EL context
-     * @param row        Current row
-     * @param c          Current col index
-     * @param field      Current field
-     * @param excelField ExcelFiled annotation on current filed
+     * @param context EL context
+     * @param binding Binding of current column
+     * @return False if the assertion failed
      */
-    private void assertValue(ExpressionParser parser, EvaluationContext context, Row row, int c, Field field, ExcelField excelField) {
-        ExcelAssert excelAssert = field.getAnnotation(ExcelAssert.class);
-        if (excelAssert != null) {
-            Boolean test = parser.parseExpression(excelAssert.expr()).getValue(context, Boolean.class);
-            if (test != null && !test) {
-                throw new ExcelAssertException(excelAssert.message(), excelField, field, row.getRowNum(), c);
-            }
+    private boolean assertValue(EvaluationContext context, ColumnBinding binding) {
+        ExcelFieldBinder binder = binding.binder;
+        if (binder.getAssertExpression() != null) {
+            Boolean test = binder.getAssertExpression().getValue(context, Boolean.class);
+            return test == null || test;
         }
+        return true;
     }
 }
@@ -0,0 +1,27 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Supplies the rows of the sheets to the read executor
+ *
+ * @author Gjing
+ **/
+interface ExcelRowSource extends Closeable {
+    /**
+     * Whether the sheet exists
+     *
+     * @param sheetName sheetName
+     * @return boolean
+     */
+    boolean hasSheet(String sheetName);
+
+    /**
+     * Open the rows of the sheet, the returned cells may be reused for the next row
+     *
+     * @param sheetName sheetName
+     * @return Iterator of the rows
+     */
+    Iterator<? extends RowCells> rows(String sheetName);
+}
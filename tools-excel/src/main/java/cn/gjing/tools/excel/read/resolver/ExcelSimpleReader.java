@@ -0,0 +1,126 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import cn.gjing.tools.excel.metadata.ExcelType;
+import cn.gjing.tools.excel.read.ExcelReaderContext;
+import cn.gjing.tools.excel.read.listener.ExcelSimpleReadListener;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Excel simple mode reader, not through mapped entities.
+ * Every row of the sheet, including the header, is handed over as a reused {@link RowView}
+ *
+ * @author Gjing
+ **/
+public final class ExcelSimpleReader extends ExcelBaseReader<Object> {
+    public ExcelSimpleReader(ExcelReaderContext<Object> context, InputStream inputStream, ExcelType excelType) {
+        super(context, inputStream, excelType);
+    }
+
+    public ExcelSimpleReader(ExcelReaderContext<Object> context, File file, boolean deleteFile, ExcelType excelType) {
+        super(context, file, deleteFile, excelType);
+    }
+
+    /**
+     * Read excel
+     *
+     * @param listener Row listener
+     * @return this
+     */
+    public ExcelSimpleReader read(ExcelSimpleReadListener listener) {
+        return this.read(this.defaultSheetName, listener);
+    }
+
+    /**
+     * Read the specified sheet
+     *
+     * @param sheetName Excel Sheet name
+     * @param listener  Row listener
+     * @return this
+     */
+    public ExcelSimpleReader read(String sheetName, ExcelSimpleReadListener listener) {
+        Iterator<RowView> iterator = this.iterator(sheetName);
+        while (iterator.hasNext()) {
+            if (listener.readRow(iterator.next())) {
+                break;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Lazily read excel, each call to {@link Iterator#next()} returns the same view pointing to the next row.
+     * Call {@link #finish()} once done with the iterator
+     *
+     * @return Iterator of the rows
+     */
+    public Iterator<RowView> iterator() {
+        return this.iterator(this.defaultSheetName);
+    }
+
+    /**
+     * Lazily read the specified sheet, each call to {@link Iterator#next()} returns the same view pointing to the next row.
+     * Call {@link #finish()} once done with the iterator
+     *
+     * @param sheetName Excel Sheet name
+     * @return Iterator of the rows
+     */
+    public Iterator<RowView> iterator(String sheetName) {
+        Iterator<? extends RowCells> rows = this.getRowSource().rows(sheetName);
+        RowView view = new RowView();
+        return new Iterator<RowView>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public RowView next() {
+                if (!rows.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return view.wrap(rows.next());
+            }
+        };
+    }
+
+    /**
+     * Lazily read excel as a sequential stream of copied rows, closing the stream finishes the reader
+     * and releases the workbook, so use it in a try-with-resources block
+     *
+     * @return Stream of the cell values by col index
+     */
+    public Stream<Object[]> stream() {
+        return this.stream(this.defaultSheetName);
+    }
+
+    /**
+     * Lazily read the specified sheet as a sequential stream of copied rows, closing the stream finishes the reader
+     * and releases the workbook, so use it in a try-with-resources block
+     *
+     * @param sheetName Excel Sheet name
+     * @return Stream of the cell values by col index, see {@link RowView#getValue(int)}
+     */
+    public Stream<Object[]> stream(String sheetName) {
+        Iterator<RowView> iterator = this.iterator(sheetName);
+        Spliterator<Object[]> spliterator = Spliterators.spliteratorUnknownSize(new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return iterator.next().toArray();
+            }
+        }, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::finish);
+    }
+}
@@ -0,0 +1,59 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * Column vector of primitive int values of int, short and byte fields
+ *
+ * @author Gjing
+ **/
+public final class IntColumn extends ExcelColumn {
+    private int[] values = new int[0];
+
+    IntColumn(Field field, int colIndex) {
+        super(field, colIndex);
+    }
+
+    /**
+     * Append a value
+     *
+     * @param value value
+     */
+    void append(int value) {
+        int index = this.next();
+        this.values[index] = value;
+    }
+
+    /**
+     * Get the value of the row, 0 if the cell is blank
+     *
+     * @param row Row index of the column, start at 0
+     * @return value
+     */
+    public int get(int row) {
+        this.checkIndex(row);
+        return this.values[row];
+    }
+
+    @Override
+    public Object getObject(int row) {
+        return this.isNull(row) ? null : this.values[row];
+    }
+
+    /**
+     * Copy the values to an array, blank cells are 0
+     *
+     * @return values
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (capacity > this.values.length) {
+            this.values = Arrays.copyOf(this.values, grow(this.values.length, capacity));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import org.apache.poi.hssf.usermodel.HSSFCell;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.util.Date;
+
+/**
+ * Reads the cells of a workbook row in place, the instance is reused for every row of a sheet
+ *
+ * @author Gjing
+ **/
+final class LiveRowCells implements RowCells {
+    private final DateFormatCache dateFormats;
+    private final boolean date1904;
+    private Row row;
+    private Cell cell;
+
+    LiveRowCells(DateFormatCache dateFormats, boolean date1904) {
+        this.dateFormats = dateFormats;
+        this.date1904 = date1904;
+    }
+
+    /**
+     * Point to the row
+     *
+     * @param row Current row
+     * @return this
+     */
+    LiveRowCells wrap(Row row) {
+        this.row = row;
+        this.cell = null;
+        return this;
+    }
+
+    @Override
+    public int getRowNum() {
+        return this.row.getRowNum();
+    }
+
+    @Override
+    public int getLastCellNum() {
+        return this.row.getLastCellNum();
+    }
+
+    @Override
+    public boolean select(int colIndex) {
+        this.cell = this.row.getCell(colIndex);
+        return this.cell != null;
+    }
+
+    @Override
+    public CellType getCellType() {
+        return this.cell.getCellType();
+    }
+
+    @Override
+    public boolean isDateFormatted() {
+        return this.dateFormats.isDateFormatted(this.cell);
+    }
+
+    @Override
+    public double getNumericCellValue() {
+        return this.cell.getNumericCellValue();
+    }
+
+    @Override
+    public Date getDateCellValue() {
+        return this.cell.getDateCellValue();
+    }
+
+    @Override
+    public boolean getBooleanCellValue() {
+        return this.cell.getBooleanCellValue();
+    }
+
+    @Override
+    public CellType getCachedFormulaResultType() {
+        return this.cell instanceof HSSFCell ? this.cell.getCachedFormulaResultType() : CellType.STRING;
+    }
+
+    @Override
+    public String getStringCellValue() {
+        return this.cell.getStringCellValue();
+    }
+
+    @Override
+    public RowCells detach(ColumnBinding[] bindings) {
+        return RowSnapshot.of(this.row, bindings, this.dateFormats, this.date1904);
+    }
+}
@@ -0,0 +1,60 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * Column vector of primitive long values of long and big integer fields,
+ * date fields are stored as epoch milliseconds
+ *
+ * @author Gjing
+ **/
+public final class LongColumn extends ExcelColumn {
+    private long[] values = new long[0];
+
+    LongColumn(Field field, int colIndex) {
+        super(field, colIndex);
+    }
+
+    /**
+     * Append a value
+     *
+     * @param value value
+     */
+    void append(long value) {
+        int index = this.next();
+        this.values[index] = value;
+    }
+
+    /**
+     * Get the value of the row, 0 if the cell is blank
+     *
+     * @param row Row index of the column, start at 0
+     * @return value
+     */
+    public long get(int row) {
+        this.checkIndex(row);
+        return this.values[row];
+    }
+
+    @Override
+    public Object getObject(int row) {
+        return this.isNull(row) ? null : this.values[row];
+    }
+
+    /**
+     * Copy the values to an array, blank cells are 0
+     *
+     * @return values
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (capacity > this.values.length) {
+            this.values = Arrays.copyOf(this.values, grow(this.values.length, capacity));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.util.Date;
+
+/**
+ * Cell access of a body row used when mapping the row to an entity,
+ * the cell values are read after selecting a column with {@link #select(int)}
+ *
+ * @author Gjing
+ **/
+interface RowCells {
+    /**
+     * Current row index
+     *
+     * @return rowIndex
+     */
+    int getRowNum();
+
+    /**
+     * Index of the last cell plus one
+     *
+     * @return lastCellNum, 0 or less if the row has no cells
+     */
+    int getLastCellNum();
+
+    /**
+     * Select the cell of the column
+     *
+     * @param colIndex Col index
+     * @return False if the cell does not exist
+     */
+    boolean select(int colIndex);
+
+    /**
+     * Type of the selected cell
+     *
+     * @return CellType
+     */
+    CellType getCellType();
+
+    /**
+     * Whether the selected numeric cell is date formatted
+     *
+     * @return boolean
+     */
+    boolean isDateFormatted();
+
+    /**
+     * Value of the selected numeric cell
+     *
+     * @return double
+     */
+    double getNumericCellValue();
+
+    /**
+     * Value of the selected numeric cell as a date in the date window of the workbook
+     *
+     * @return Date
+     */
+    Date getDateCellValue();
+
+    /**
+     * Value of the selected boolean cell
+     *
+     * @return boolean
+     */
+    boolean getBooleanCellValue();
+
+    /**
+     * Cached result type of the selected formula cell, the result of an xls formula is read with the getter of its type,
+     * other formula cells are read as strings
+     *
+     * @return CellType
+     */
+    CellType getCachedFormulaResultType();
+
+    /**
+     * Value of the selected string or formula cell
+     *
+     * @return String
+     */
+    String getStringCellValue();
+
+    /**
+     * Get a copy of the cells of the bound columns that no longer touches the workbook
+     *
+     * @param bindings Column bindings ordered by col index
+     * @return Detached cells
+     */
+    RowCells detach(ColumnBinding[] bindings);
+}
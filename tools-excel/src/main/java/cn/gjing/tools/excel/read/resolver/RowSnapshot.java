@@ -0,0 +1,207 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import org.apache.poi.hssf.usermodel.HSSFCell;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Detached copy of the cell values of a row, it no longer touches the workbook
+ * and can be mapped on another thread than the one parsing the sheet
+ *
+ * @author Gjing
+ **/
+final class RowSnapshot implements RowCells {
+    private final int rowNum;
+    private final boolean date1904;
+    private CellType[] types;
+    private boolean[] dates;
+    private double[] numbers;
+    private Object[] values;
+    private int length;
+    private int selected;
+
+    RowSnapshot(int rowNum, int capacity, boolean date1904) {
+        this.rowNum = rowNum;
+        this.date1904 = date1904;
+        this.types = new CellType[capacity];
+        this.dates = new boolean[capacity];
+        this.numbers = new double[capacity];
+        this.values = new Object[capacity];
+    }
+
+    /**
+     * Copy the cells of the bound columns of the row.
+     * A formula of an xls cell whose cached result is not a string keeps its result,
+     * reading it as a string fails as it does with the live cell
+     *
+     * @param row         Current row
+     * @param bindings    Column bindings ordered by col index
+     * @param dateFormats Date formats of the workbook
+     * @param date1904    Whether the workbook uses the 1904 date window
+     * @return RowSnapshot
+     */
+    static RowSnapshot of(Row row, ColumnBinding[] bindings, DateFormatCache dateFormats, boolean date1904) {
+        RowSnapshot snapshot = new RowSnapshot(row.getRowNum(), bindings.length == 0 ? 0 : bindings[bindings.length - 1].colIndex + 1, date1904);
+        for (ColumnBinding binding : bindings) {
+            int c = binding.colIndex;
+            Cell cell = row.getCell(c);
+            if (cell == null) {
+                continue;
+            }
+            CellType type = cell.getCellType();
+            switch (type) {
+                case NUMERIC:
+                    if (dateFormats.isDateFormatted(cell)) {
+                        snapshot.setDate(c, cell.getDateCellValue());
+                    } else {
+                        snapshot.setNumeric(c, cell.getNumericCellValue());
+                    }
+                    break;
+                case BOOLEAN:
+                    snapshot.setBoolean(c, cell.getBooleanCellValue());
+                    break;
+                case FORMULA:
+                    CellType result = cell.getCachedFormulaResultType();
+                    if (result == CellType.STRING || !(cell instanceof HSSFCell)) {
+                        snapshot.setString(c, type, cell.getStringCellValue());
+                    } else if (result == CellType.NUMERIC) {
+                        snapshot.setFormulaResult(c, result, cell.getNumericCellValue());
+                    } else if (result == CellType.BOOLEAN) {
+                        snapshot.setFormulaResult(c, result, cell.getBooleanCellValue() ? 1 : 0);
+                    } else {
+                        snapshot.setFormulaResult(c, result, 0);
+                    }
+                    break;
+                case STRING:
+                    snapshot.setString(c, type, cell.getStringCellValue());
+                    break;
+                default:
+                    snapshot.setType(c, type);
+            }
+        }
+        return snapshot;
+    }
+
+    void setNumeric(int colIndex, double value) {
+        this.setType(colIndex, CellType.NUMERIC);
+        this.numbers[colIndex] = value;
+    }
+
+    void setDate(int colIndex, Date value) {
+        this.setType(colIndex, CellType.NUMERIC);
+        this.dates[colIndex] = true;
+        this.values[colIndex] = value;
+    }
+
+    void setBoolean(int colIndex, boolean value) {
+        this.setType(colIndex, CellType.BOOLEAN);
+        this.values[colIndex] = value;
+    }
+
+    void setString(int colIndex, CellType type, String value) {
+        this.setType(colIndex, type);
+        this.values[colIndex] = value;
+    }
+
+    /**
+     * Set a formula cell whose cached result is not a string, reading it as a string fails as it does with an xls cell
+     *
+     * @param colIndex Col index
+     * @param result   Cached result type
+     * @param value    Cached numeric result, 1 or 0 for a boolean result
+     */
+    void setFormulaResult(int colIndex, CellType result, double value) {
+        this.setType(colIndex, CellType.FORMULA);
+        this.values[colIndex] = result;
+        this.numbers[colIndex] = value;
+    }
+
+    void setType(int colIndex, CellType type) {
+        if (colIndex >= this.types.length) {
+            int capacity = Math.max(colIndex + 1, this.types.length * 2);
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.dates = Arrays.copyOf(this.dates, capacity);
+            this.numbers = Arrays.copyOf(this.numbers, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+        this.types[colIndex] = type;
+        this.length = Math.max(this.length, colIndex + 1);
+    }
+
+    @Override
+    public int getRowNum() {
+        return this.rowNum;
+    }
+
+    @Override
+    public int getLastCellNum() {
+        return this.length;
+    }
+
+    @Override
+    public boolean select(int colIndex) {
+        this.selected = colIndex;
+        return colIndex < this.length && this.types[colIndex] != null;
+    }
+
+    @Override
+    public CellType getCellType() {
+        return this.types[this.selected];
+    }
+
+    @Override
+    public boolean isDateFormatted() {
+        return this.dates[this.selected];
+    }
+
+    @Override
+    public double getNumericCellValue() {
+        return this.numbers[this.selected];
+    }
+
+    @Override
+    public Date getDateCellValue() {
+        if (this.dates[this.selected]) {
+            return (Date) this.values[this.selected];
+        }
+        return DateUtil.getJavaDate(this.numbers[this.selected], this.date1904);
+    }
+
+    @Override
+    public boolean getBooleanCellValue() {
+        Object value = this.values[this.selected];
+        if (value instanceof CellType) {
+            return this.numbers[this.selected] != 0;
+        }
+        return (Boolean) value;
+    }
+
+    @Override
+    public CellType getCachedFormulaResultType() {
+        Object value = this.values[this.selected];
+        return value instanceof CellType ? (CellType) value : CellType.STRING;
+    }
+
+    @Override
+    public String getStringCellValue() {
+        Object value = this.values[this.selected];
+        if (value instanceof CellType) {
+            throw new IllegalStateException("Cannot get a STRING value from a " + value + " formula cell");
+        }
+        if (value == null) {
+            return this.types[this.selected] == CellType.NUMERIC ? NumberToTextConverter.toText(this.numbers[this.selected]) : "";
+        }
+        return value instanceof String ? (String) value : String.valueOf(value);
+    }
+
+    @Override
+    public RowCells detach(ColumnBinding[] bindings) {
+        return this;
+    }
+}
@@ -0,0 +1,230 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+import java.util.Date;
+
+/**
+ * A view of the current row of the simple reader, cells are read by col index without mapping the row to an entity.
+ * The same view is reused for every row of a sheet, it is only valid until the reader moves to the next row,
+ * use {@link #toArray()} to keep the values
+ *
+ * @author Gjing
+ **/
+public final class RowView {
+    private RowCells cells;
+
+    RowView() {
+    }
+
+    /**
+     * Point to the row
+     *
+     * @param cells Cells of the current row
+     * @return this
+     */
+    RowView wrap(RowCells cells) {
+        this.cells = cells;
+        return this;
+    }
+
+    /**
+     * Index of the row in the sheet
+     *
+     * @return Row index, start at 0
+     */
+    public int getRowNum() {
+        return this.cells.getRowNum();
+    }
+
+    /**
+     * Number of cells up to the last cell of the row
+     *
+     * @return The last col index plus one
+     */
+    public int size() {
+        return Math.max(this.cells.getLastCellNum(), 0);
+    }
+
+    /**
+     * Get the type of the cell
+     *
+     * @param colIndex Col index, start at 0
+     * @return Cell type, {@link CellType#BLANK} if the cell does not exist
+     */
+    public CellType getCellType(int colIndex) {
+        return this.cells.select(colIndex) ? this.cells.getCellType() : CellType.BLANK;
+    }
+
+    /**
+     * Whether the cell is missing, blank or an error
+     *
+     * @param colIndex Col index, start at 0
+     * @return boolean
+     */
+    public boolean isEmpty(int colIndex) {
+        switch (this.getValueType(colIndex)) {
+            case _NONE:
+            case BLANK:
+            case ERROR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Get the cell as a double, string cells are parsed
+     *
+     * @param colIndex Col index, start at 0
+     * @return value, 0 if the cell is empty
+     */
+    public double getDouble(int colIndex) {
+        switch (this.getValueType(colIndex)) {
+            case NUMERIC:
+                return this.cells.getNumericCellValue();
+            case BOOLEAN:
+                return this.cells.getBooleanCellValue() ? 1 : 0;
+            case STRING:
+            case FORMULA:
+                String value = this.cells.getStringCellValue().trim();
+                return value.isEmpty() ? 0 : Double.parseDouble(value);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Get the cell as a long
+     *
+     * @param colIndex Col index, start at 0
+     * @return value, 0 if the cell is empty
+     * @throws NumberFormatException If the value is not a whole number
+     */
+    public long getLong(int colIndex) {
+        double value = this.getDouble(colIndex);
+        long integral = (long) value;
+        if (integral != value) {
+            throw new NumberFormatException("Expected long but was " + value);
+        }
+        return integral;
+    }
+
+    /**
+     * Get the cell as an int
+     *
+     * @param colIndex Col index, start at 0
+     * @return value, 0 if the cell is empty
+     * @throws NumberFormatException If the value is not a whole number in the int range
+     */
+    public int getInt(int colIndex) {
+        double value = this.getDouble(colIndex);
+        int integral = (int) value;
+        if (integral != value) {
+            throw new NumberFormatException("Expected int but was " + value);
+        }
+        return integral;
+    }
+
+    /**
+     * Get the cell as a boolean, numeric cells are true when not 0
+     *
+     * @param colIndex Col index, start at 0
+     * @return value, false if the cell is empty
+     */
+    public boolean getBoolean(int colIndex) {
+        switch (this.getValueType(colIndex)) {
+            case BOOLEAN:
+                return this.cells.getBooleanCellValue();
+            case NUMERIC:
+                return this.cells.getNumericCellValue() != 0;
+            case STRING:
+            case FORMULA:
+                return Boolean.parseBoolean(this.cells.getStringCellValue().trim());
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Get the cell as a string, numeric cells are formatted like excel shows them in a general cell
+     *
+     * @param colIndex Col index, start at 0
+     * @return value, null if the cell is empty
+     */
+    public String getString(int colIndex) {
+        switch (this.getValueType(colIndex)) {
+            case NUMERIC:
+                return NumberToTextConverter.toText(this.cells.getNumericCellValue());
+            case BOOLEAN:
+                return String.valueOf(this.cells.getBooleanCellValue());
+            case STRING:
+            case FORMULA:
+                return this.cells.getStringCellValue();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Get the numeric cell as a date in the date window of the workbook
+     *
+     * @param colIndex Col index, start at 0
+     * @return value, null if the cell is empty or not numeric
+     */
+    public Date getDate(int colIndex) {
+        if (this.getValueType(colIndex) != CellType.NUMERIC) {
+            return null;
+        }
+        return this.cells.getDateCellValue();
+    }
+
+    /**
+     * Get the boxed cell value, date formatted cells are dates, other numeric cells are doubles
+     *
+     * @param colIndex Col index, start at 0
+     * @return value, null if the cell is empty
+     */
+    public Object getValue(int colIndex) {
+        switch (this.getValueType(colIndex)) {
+            case NUMERIC:
+                return this.cells.isDateFormatted() ? this.cells.getDateCellValue() : this.cells.getNumericCellValue();
+            case BOOLEAN:
+                return this.cells.getBooleanCellValue();
+            case STRING:
+            case FORMULA:
+                return this.cells.getStringCellValue();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Get the type the value of the cell is read as, an xls formula cell is read as its cached result
+     *
+     * @param colIndex Col index, start at 0
+     * @return Cell type, {@link CellType#BLANK} if the cell does not exist
+     */
+    private CellType getValueType(int colIndex) {
+        CellType type = this.getCellType(colIndex);
+        if (type != CellType.FORMULA) {
+            return type;
+        }
+        CellType result = this.cells.getCachedFormulaResultType();
+        return result == CellType.STRING ? CellType.FORMULA : result;
+    }
+
+    /**
+     * Copy the boxed values of the row
+     *
+     * @return Values by col index, see {@link #getValue(int)}
+     */
+    public Object[] toArray() {
+        Object[] values = new Object[this.size()];
+        for (int c = 0; c < values.length; c++) {
+            values[c] = this.getValue(c);
+        }
+        return values;
+    }
+}
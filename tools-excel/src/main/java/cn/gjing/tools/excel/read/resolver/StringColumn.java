@@ -0,0 +1,99 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * Dictionary encoded column vector of string and other fields,
+ * each distinct value is stored once and the rows hold its code
+ *
+ * @author Gjing
+ **/
+public final class StringColumn extends ExcelColumn {
+    private int[] codes = new int[0];
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> codeMap = new HashMap<>(64);
+
+    StringColumn(Field field, int colIndex) {
+        super(field, colIndex);
+    }
+
+    /**
+     * Append a value
+     *
+     * @param value value, null is appended as a blank cell
+     */
+    void append(String value) {
+        if (value == null) {
+            this.appendNull();
+            return;
+        }
+        Integer code = this.codeMap.get(value);
+        if (code == null) {
+            code = this.dictionary.size();
+            this.dictionary.add(value);
+            this.codeMap.put(value, code);
+        }
+        int index = this.next();
+        this.codes[index] = code;
+    }
+
+    @Override
+    void appendNull() {
+        int index = this.next();
+        this.codes[index] = -1;
+        this.nulls.set(index);
+    }
+
+    /**
+     * Get the value of the row
+     *
+     * @param row Row index of the column, start at 0
+     * @return value, null if the cell is blank
+     */
+    public String get(int row) {
+        int code = this.getCode(row);
+        return code < 0 ? null : this.dictionary.get(code);
+    }
+
+    /**
+     * Get the dictionary code of the row
+     *
+     * @param row Row index of the column, start at 0
+     * @return Index in the dictionary, -1 if the cell is blank
+     */
+    public int getCode(int row) {
+        this.checkIndex(row);
+        return this.codes[row];
+    }
+
+    @Override
+    public Object getObject(int row) {
+        return this.get(row);
+    }
+
+    /**
+     * Distinct values in order of appearance
+     *
+     * @return Unmodifiable dictionary
+     */
+    public List<String> getDictionary() {
+        return Collections.unmodifiableList(this.dictionary);
+    }
+
+    /**
+     * Copy the dictionary codes to an array, blank cells are -1
+     *
+     * @return codes
+     */
+    public int[] toCodes() {
+        return Arrays.copyOf(this.codes, this.size);
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (capacity > this.codes.length) {
+            this.codes = Arrays.copyOf(this.codes, grow(this.codes.length, capacity));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import cn.gjing.tools.excel.exception.ExcelResolverException;
+import cn.gjing.tools.excel.read.ExcelReaderContext;
+import com.monitorjbl.xlsx.impl.StreamingWorkbook;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Reads the rows of the workbook in the reader context, the opened sheet is set to the context
+ *
+ * @author Gjing
+ **/
+final class WorkbookRowSource implements ExcelRowSource {
+    private final ExcelReaderContext<?> context;
+    private final DateFormatCache dateFormats = new DateFormatCache();
+
+    WorkbookRowSource(ExcelReaderContext<?> context) {
+        this.context = context;
+    }
+
+    @Override
+    public boolean hasSheet(String sheetName) {
+        return this.context.getWorkbook().getSheetIndex(sheetName) != -1;
+    }
+
+    @Override
+    public Iterator<? extends RowCells> rows(String sheetName) {
+        Sheet sheet;
+        if (this.context.getWorkbook() instanceof StreamingWorkbook) {
+            try {
+                sheet = this.context.getWorkbook().getSheet(sheetName);
+            } catch (Exception e) {
+                throw new ExcelResolverException("The" + sheetName + " is not found in the workbook");
+            }
+        } else {
+            sheet = this.context.getWorkbook().getSheet(sheetName);
+            if (sheet == null) {
+                throw new ExcelResolverException("The" + sheetName + " is not found in the workbook");
+            }
+        }
+        this.context.setSheet(sheet);
+        Iterator<Row> rows = sheet.iterator();
+        LiveRowCells cells = new LiveRowCells(this.dateFormats, isDate1904(this.context.getWorkbook()));
+        return new Iterator<RowCells>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public RowCells next() {
+                return cells.wrap(rows.next());
+            }
+        };
+    }
+
+    /**
+     * Whether the workbook uses the 1904 date window, a streaming workbook does not expose it
+     * and only its cells convert dates in the right window
+     *
+     * @param workbook Workbook
+     * @return boolean
+     */
+    private static boolean isDate1904(Workbook workbook) {
+        if (workbook instanceof HSSFWorkbook) {
+            return ((HSSFWorkbook) workbook).getInternalWorkbook().isUsing1904DateWindowing();
+        }
+        if (workbook instanceof XSSFWorkbook) {
+            return ((XSSFWorkbook) workbook).isDate1904();
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.context.getWorkbook() != null) {
+            this.context.getWorkbook().close();
+        }
+    }
+}
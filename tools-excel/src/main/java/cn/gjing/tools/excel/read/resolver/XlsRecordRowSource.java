@@ -0,0 +1,302 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import cn.gjing.tools.excel.exception.ExcelResolverException;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.record.ArrayRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.MulBlankRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RecordFactoryInputStream;
+import org.apache.poi.hssf.record.RowRecord;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.SharedFormulaRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.hssf.record.TableRecord;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Reads the rows of an xls file record by record instead of building a {@link HSSFWorkbook},
+ * only the raw file and the shared strings of the workbook are kept in memory
+ *
+ * @author Gjing
+ **/
+final class XlsRecordRowSource implements ExcelRowSource {
+    private final POIFSFileSystem fileSystem;
+    private final String entryName;
+    private final List<String> sheetNames;
+
+    XlsRecordRowSource(POIFSFileSystem fileSystem) throws IOException {
+        this.fileSystem = fileSystem;
+        this.entryName = HSSFWorkbook.getWorkbookDirEntryName(fileSystem.getRoot());
+        List<BoundSheetRecord> boundSheets = new ArrayList<>();
+        try (InputStream stream = fileSystem.createDocumentInputStream(this.entryName)) {
+            RecordFactoryInputStream records = new RecordFactoryInputStream(stream, false);
+            Record record;
+            while ((record = records.nextRecord()) != null && !(record instanceof EOFRecord)) {
+                if (record instanceof BoundSheetRecord) {
+                    boundSheets.add((BoundSheetRecord) record);
+                }
+            }
+        }
+        this.sheetNames = new ArrayList<>(boundSheets.size());
+        for (BoundSheetRecord boundSheet : BoundSheetRecord.orderByBofPosition(boundSheets)) {
+            this.sheetNames.add(boundSheet.getSheetname());
+        }
+    }
+
+    @Override
+    public boolean hasSheet(String sheetName) {
+        return this.sheetNames.contains(sheetName);
+    }
+
+    @Override
+    public Iterator<? extends RowCells> rows(String sheetName) {
+        int sheetIndex = this.sheetNames.indexOf(sheetName);
+        if (sheetIndex == -1) {
+            throw new ExcelResolverException("The" + sheetName + " is not found in the workbook");
+        }
+        try {
+            return new RowIterator(this.fileSystem.createDocumentInputStream(this.entryName), sheetIndex);
+        } catch (IOException e) {
+            throw new ExcelResolverException("Read sheet error, " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.fileSystem.close();
+    }
+
+    /**
+     * Pulls the records of the workbook stream until a row of the sheet is complete
+     */
+    private static final class RowIterator implements Iterator<RowSnapshot> {
+        private final InputStream stream;
+        private final RecordFactoryInputStream records;
+        private final FormatTrackingHSSFListener formats;
+        private final DateFormatCache dateFormats = new DateFormatCache();
+        private final int sheetIndex;
+        private final TreeSet<Integer> declaredRows;
+        private final Deque<RowSnapshot> ready;
+        private SSTRecord sst;
+        private boolean date1904;
+        private int depth;
+        private int currentSheet = -1;
+        private boolean inSheet;
+        private boolean done;
+        private RowSnapshot current;
+        private FormulaRecord pendingFormula;
+
+        RowIterator(InputStream stream, int sheetIndex) {
+            this.stream = stream;
+            this.records = new RecordFactoryInputStream(stream, false);
+            this.formats = new FormatTrackingHSSFListener(record -> {
+            });
+            this.sheetIndex = sheetIndex;
+            this.declaredRows = new TreeSet<>();
+            this.ready = new ArrayDeque<>();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.ready.isEmpty() && !this.done) {
+                this.advance();
+            }
+            return !this.ready.isEmpty();
+        }
+
+        @Override
+        public RowSnapshot next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.ready.poll();
+        }
+
+        /**
+         * Process the next record
+         */
+        private void advance() {
+            Record record = this.records.nextRecord();
+            if (record == null) {
+                this.end();
+                return;
+            }
+            if (record instanceof BOFRecord) {
+                if (this.depth == 0 && ((BOFRecord) record).getType() != BOFRecord.TYPE_WORKBOOK) {
+                    this.currentSheet++;
+                    this.inSheet = this.currentSheet == this.sheetIndex;
+                }
+                this.depth++;
+                return;
+            }
+            if (record instanceof EOFRecord) {
+                this.depth--;
+                if (this.depth == 0 && this.inSheet) {
+                    this.end();
+                }
+                return;
+            }
+            if (this.currentSheet == -1) {
+                this.formats.processRecordInternally(record);
+                if (record instanceof SSTRecord) {
+                    this.sst = (SSTRecord) record;
+                } else if (record instanceof DateWindow1904Record) {
+                    this.date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+                }
+                return;
+            }
+            if (!this.inSheet || this.depth != 1) {
+                return;
+            }
+            if (record instanceof StringRecord) {
+                if (this.pendingFormula != null) {
+                    this.cell(this.pendingFormula).setString(this.pendingFormula.getColumn(), CellType.FORMULA, ((StringRecord) record).getString());
+                    this.pendingFormula = null;
+                }
+                return;
+            }
+            // the shared, array or table formula of a cell comes between its formula record and its string record
+            if (record instanceof SharedFormulaRecord || record instanceof ArrayRecord || record instanceof TableRecord) {
+                return;
+            }
+            this.flushFormula();
+            if (record instanceof RowRecord) {
+                this.declaredRows.add(((RowRecord) record).getRowNumber());
+            } else if (record instanceof NumberRecord) {
+                NumberRecord number = (NumberRecord) record;
+                double value = number.getValue();
+                if (this.dateFormats.isDateFormatted(number, value, this.formats)) {
+                    this.cell(number).setDate(number.getColumn(), DateUtil.getJavaDate(value, this.date1904));
+                } else {
+                    this.cell(number).setNumeric(number.getColumn(), value);
+                }
+            } else if (record instanceof LabelSSTRecord) {
+                LabelSSTRecord label = (LabelSSTRecord) record;
+                this.cell(label).setString(label.getColumn(), CellType.STRING, this.sst.getString(label.getSSTIndex()).getString());
+            } else if (record instanceof LabelRecord) {
+                LabelRecord label = (LabelRecord) record;
+                this.cell(label).setString(label.getColumn(), CellType.STRING, label.getValue());
+            } else if (record instanceof BoolErrRecord) {
+                BoolErrRecord boolErr = (BoolErrRecord) record;
+                if (boolErr.isBoolean()) {
+                    this.cell(boolErr).setBoolean(boolErr.getColumn(), boolErr.getBooleanValue());
+                } else {
+                    this.cell(boolErr).setType(boolErr.getColumn(), CellType.ERROR);
+                }
+            } else if (record instanceof BlankRecord) {
+                BlankRecord blank = (BlankRecord) record;
+                this.cell(blank).setType(blank.getColumn(), CellType.BLANK);
+            } else if (record instanceof MulBlankRecord) {
+                // an HSSFWorkbook writes the adjacent blank cells of a row as one record
+                MulBlankRecord blanks = (MulBlankRecord) record;
+                RowSnapshot row = this.row(blanks.getRow());
+                for (int i = 0; i < blanks.getNumColumns(); i++) {
+                    row.setType(blanks.getFirstColumn() + i, CellType.BLANK);
+                }
+            } else if (record instanceof FormulaRecord) {
+                this.formula((FormulaRecord) record);
+            }
+        }
+
+        /**
+         * Process the cached result of a formula cell, string results are in the following string record.
+         * Other results cannot be read as a string, the same as the formula cells of an HSSFWorkbook
+         *
+         * @param formula Formula record
+         */
+        @SuppressWarnings("deprecation")
+        private void formula(FormulaRecord formula) {
+            if (formula.hasCachedResultString()) {
+                this.pendingFormula = formula;
+                return;
+            }
+            // the record only has the code of the result type, it is resolved the same way HSSFCell does
+            CellType result = CellType.forInt(formula.getCachedResultType());
+            double value = result == CellType.BOOLEAN ? (formula.getCachedBooleanValue() ? 1 : 0) : result == CellType.NUMERIC ? formula.getValue() : 0;
+            this.cell(formula).setFormulaResult(formula.getColumn(), result, value);
+        }
+
+        /**
+         * A string formula without a following string record has an empty result
+         */
+        private void flushFormula() {
+            if (this.pendingFormula != null) {
+                this.cell(this.pendingFormula).setString(this.pendingFormula.getColumn(), CellType.FORMULA, "");
+                this.pendingFormula = null;
+            }
+        }
+
+        /**
+         * Get the row of the cell, the previous row and the declared rows without cells before it are completed
+         *
+         * @param cell Cell record
+         * @return The row of the cell
+         */
+        private RowSnapshot cell(CellValueRecordInterface cell) {
+            return this.row(cell.getRow());
+        }
+
+        /**
+         * Get the row, the previous row and the declared rows without cells before it are completed
+         *
+         * @param rowNum Row index
+         * @return The row
+         */
+        private RowSnapshot row(int rowNum) {
+            if (this.current != null && this.current.getRowNum() == rowNum) {
+                return this.current;
+            }
+            if (this.current != null) {
+                this.ready.add(this.current);
+            }
+            Integer declared;
+            while ((declared = this.declaredRows.pollFirst()) != null && declared < rowNum) {
+                this.ready.add(new RowSnapshot(declared, 0, this.date1904));
+            }
+            if (declared != null && declared > rowNum) {
+                this.declaredRows.add(declared);
+            }
+            this.current = new RowSnapshot(rowNum, 16, this.date1904);
+            return this.current;
+        }
+
+        /**
+         * The sheet is finished, complete the remaining rows and close the stream
+         */
+        private void end() {
+            this.flushFormula();
+            if (this.current != null) {
+                this.ready.add(this.current);
+                this.current = null;
+            }
+            for (Integer declared : this.declaredRows) {
+                this.ready.add(new RowSnapshot(declared, 0, this.date1904));
+            }
+            this.declaredRows.clear();
+            this.done = true;
+            try {
+                this.stream.close();
+            } catch (IOException e) {
+                throw new ExcelResolverException("Read sheet error, " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package cn.gjing.tools.excel.read.valid;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The errors collected in one pass of an import, bounded to a maximum number of kept errors.
+ * Errors beyond the maximum are only counted
+ *
+ * @author Gjing
+ **/
+public final class ExcelErrorReport {
+    private final int maxErrors;
+    private final boolean keepInvalidRows;
+    private final List<ExcelReadError> errors = new ArrayList<>();
+    private int errorCount;
+    private int invalidRows;
+
+    public ExcelErrorReport(int maxErrors, boolean keepInvalidRows) {
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("Max errors cannot be negative");
+        }
+        this.maxErrors = maxErrors;
+        this.keepInvalidRows = keepInvalidRows;
+    }
+
+    /**
+     * Record a cell error
+     *
+     * @param error Cell error
+     */
+    public synchronized void add(ExcelReadError error) {
+        this.errorCount++;
+        if (this.errors.size() < this.maxErrors) {
+            this.errors.add(error);
+        }
+    }
+
+    /**
+     * Record a row that has at least one cell error
+     */
+    public synchronized void addInvalidRow() {
+        this.invalidRows++;
+    }
+
+    /**
+     * Whether rows with errors are still handed to the listeners and returned
+     *
+     * @return boolean
+     */
+    public boolean isKeepInvalidRows() {
+        return keepInvalidRows;
+    }
+
+    /**
+     * Whether any error has been collected
+     *
+     * @return boolean
+     */
+    public synchronized boolean hasErrors() {
+        return this.errorCount > 0;
+    }
+
+    /**
+     * The kept errors in the order they were collected
+     *
+     * @return Copy of the errors
+     */
+    public synchronized List<ExcelReadError> getErrors() {
+        return Collections.unmodifiableList(new ArrayList<>(this.errors));
+    }
+
+    /**
+     * Number of all errors, including the ones beyond the maximum
+     *
+     * @return Error count
+     */
+    public synchronized int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Number of rows with at least one error
+     *
+     * @return Invalid row count
+     */
+    public synchronized int getInvalidRows() {
+        return invalidRows;
+    }
+
+    /**
+     * Whether errors were dropped because the maximum was reached
+     *
+     * @return boolean
+     */
+    public synchronized boolean isTruncated() {
+        return this.errorCount > this.errors.size();
+    }
+}
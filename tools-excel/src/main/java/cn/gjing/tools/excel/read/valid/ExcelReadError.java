@@ -0,0 +1,42 @@
+package cn.gjing.tools.excel.read.valid;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.lang.reflect.Field;
+
+/**
+ * A cell that failed validation or conversion when errors are collected
+ *
+ * @author Gjing
+ **/
+@Getter
+@ToString
+@AllArgsConstructor
+public final class ExcelReadError {
+    /**
+     * Current row index
+     */
+    private final int rowIndex;
+
+    /**
+     * Current column index
+     */
+    private final int colIndex;
+
+    /**
+     * Current field
+     */
+    private final Field field;
+
+    /**
+     * Assert message or the reason of the failure
+     */
+    private final String message;
+
+    /**
+     * Whether the error is a failed {@link ExcelAssert}
+     */
+    private final boolean assertion;
+}
@@ -1,13 +1,14 @@
 package cn.gjing.tools.excel.util;
 
-import cn.gjing.tools.excel.ExcelField;
 import cn.gjing.tools.excel.metadata.ExcelFieldProperty;
+import cn.gjing.tools.excel.metadata.annotation.CopyEntity;
+import cn.gjing.tools.excel.metadata.bind.ExcelClassMetadata;
+import com.google.gson.Gson;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Bean tools
@@ -15,6 +16,31 @@ import java.util.stream.Collectors;
  * @author Gjing
  **/
 public final class BeanUtils {
+    private static final Gson GSON = new Gson();
+    private static final ClassValue<Boolean> COPY_ENTITY = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(CopyEntity.class);
+        }
+    };
+
+    /**
+     * Get the entity that is handed to a data converter or merge callback,
+     * it is the entity itself unless the handler is annotated with {@link CopyEntity}
+     *
+     * @param handler Data converter or merge callback
+     * @param entity  Current entity
+     * @param <T>     Entity type expected by the handler
+     * @return Entity or its copy
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T handOver(Object handler, Object entity) {
+        if (entity == null || !COPY_ENTITY.get(handler.getClass())) {
+            return (T) entity;
+        }
+        return (T) GSON.fromJson(GSON.toJson(entity), (Type) entity.getClass());
+    }
+
     /**
      * Set the value of a field of an object
      *
@@ -56,37 +82,11 @@ public final class BeanUtils {
      * @return Excel fields
      */
     public static List<Field> getExcelFields(Class<?> excelClass, String[] ignores, List<ExcelFieldProperty> fieldProperties) {
-        List<Field> fieldList = getAllFields(excelClass);
-        fieldList = fieldList.stream()
-                .filter(e -> e.isAnnotationPresent(ExcelField.class))
-                .sorted(Comparator.comparing(e -> e.getAnnotation(ExcelField.class).order()))
-                .filter(e -> {
-                    ExcelField excelField = e.getAnnotation(ExcelField.class);
-                    String[] headNameArray = excelField.value();
-                    for (String name : headNameArray) {
-                        if (ParamUtils.contains(ignores, name)) {
-                            return false;
-                        }
-                    }
-                    if (fieldProperties != null) {
-                        fieldProperties.add(ExcelFieldProperty.builder()
-                                .value(excelField.value())
-                                .title(excelField.title())
-                                .width(excelField.width())
-                                .order(excelField.order())
-                                .format(excelField.format())
-                                .autoMerge(excelField.autoMerge().enable())
-                                .mergeEmpty(excelField.autoMerge().empty())
-                                .mergeCallback(excelField.autoMerge().callback())
-                                .convert(excelField.convert())
-                                .color(excelField.color())
-                                .fontColor(excelField.fontColor())
-                                .build());
-                    }
-                    return true;
-                })
-                .collect(Collectors.toList());
-        return fieldList;
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(excelClass);
+        if (fieldProperties != null) {
+            fieldProperties.addAll(metadata.getFieldProperties(ignores));
+        }
+        return new ArrayList<>(metadata.getExcelFields(ignores));
     }
 
     /**
@@ -96,14 +96,7 @@ public final class BeanUtils {
      * @return Excel field map
      */
     public static Map<String, Field> getExcelFieldsMap(Class<?> excelClass) {
-        List<Field> fieldList = getAllFields(excelClass);
-        return fieldList.stream()
-                .filter(e -> e.isAnnotationPresent(ExcelField.class))
-                .collect(Collectors.toMap(e -> {
-                    ExcelField excelField = e.getAnnotation(ExcelField.class);
-                    String[] headArray = excelField.value();
-                    return headArray[headArray.length - 1] + excelField.title();
-                }, f -> f));
+        return new HashMap<>(ExcelClassMetadata.of(excelClass).getExcelFieldMap());
     }
 
     /**
@@ -8,6 +8,7 @@ import cn.gjing.tools.excel.write.valid.handle.*;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Excel writer global context
@@ -91,6 +92,21 @@ public final class ExcelWriterContext extends AbstractExcelContext {
      */
     private List<ExcelValidAnnotationHandler> validAnnotationHandlers;
 
+    /**
+     * Number of pages of a page supplier fetched ahead of the written page on a producer thread, 0 fetches on the writing thread
+     */
+    private int prefetch = 0;
+
+    /**
+     * Pool computing the body cell values, null computes them on the writing thread
+     */
+    private ForkJoinPool renderPool;
+
+    /**
+     * Number of rows computed together, 0 means 256 rows per render thread
+     */
+    private int renderBlockSize = 0;
+
     public ExcelWriterContext() {
         super();
     }
@@ -225,4 +241,28 @@ public final class ExcelWriterContext extends AbstractExcelContext {
     public List<ExcelValidAnnotationHandler> getValidAnnotationHandlers() {
         return validAnnotationHandlers;
     }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    public void setPrefetch(int prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    public ForkJoinPool getRenderPool() {
+        return renderPool;
+    }
+
+    public void setRenderPool(ForkJoinPool renderPool) {
+        this.renderPool = renderPool;
+    }
+
+    public int getRenderBlockSize() {
+        return renderBlockSize;
+    }
+
+    public void setRenderBlockSize(int renderBlockSize) {
+        this.renderBlockSize = renderBlockSize;
+    }
 }
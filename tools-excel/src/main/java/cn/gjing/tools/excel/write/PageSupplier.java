@@ -0,0 +1,56 @@
+package cn.gjing.tools.excel.write;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Supplies the export data one page at a time, only the current page is held while writing
+ *
+ * @author Gjing
+ **/
+@FunctionalInterface
+public interface PageSupplier<T> {
+    /**
+     * Get a page of data
+     *
+     * @param page Page index, start at 0
+     * @return Page data, null or empty when there is no more data
+     */
+    List<? extends T> get(int page);
+
+    /**
+     * Iterate the rows of all pages, the next page is requested when the current one is used up
+     *
+     * @return Row iterator
+     */
+    default Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int page;
+            private Iterator<? extends T> current = Collections.emptyIterator();
+            private boolean end;
+
+            @Override
+            public boolean hasNext() {
+                while (!this.end && !this.current.hasNext()) {
+                    List<? extends T> data = PageSupplier.this.get(this.page++);
+                    if (data == null || data.isEmpty()) {
+                        this.end = true;
+                    } else {
+                        this.current = data.iterator();
+                    }
+                }
+                return !this.end;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return this.current.next();
+            }
+        };
+    }
+}
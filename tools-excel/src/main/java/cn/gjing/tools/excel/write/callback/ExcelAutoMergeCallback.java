@@ -1,11 +1,15 @@
 package cn.gjing.tools.excel.write.callback;
 
+import cn.gjing.tools.excel.metadata.annotation.CopyEntity;
 import cn.gjing.tools.excel.write.resolver.ExcelBindWriter;
 
 import java.lang.reflect.Field;
 
 /**
- * Body automatic merge callback
+ * Body automatic merge callback.
+ * The entity handed to the callback is the live entity of the current row,
+ * annotate the callback with {@link CopyEntity} if it needs a detached copy.
+ * One instance of each callback class is created per writer
  *
  * @author Gjing
  **/
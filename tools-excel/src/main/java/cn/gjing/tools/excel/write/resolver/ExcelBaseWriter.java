@@ -1,6 +1,11 @@
 package cn.gjing.tools.excel.write.resolver;
 
+import cn.gjing.tools.excel.exception.ExcelInitException;
+import cn.gjing.tools.excel.exception.ExcelResolverException;
+import cn.gjing.tools.excel.metadata.ExcelType;
 import cn.gjing.tools.excel.metadata.ExecType;
+import cn.gjing.tools.excel.metadata.aware.ExcelWorkbookAware;
+import cn.gjing.tools.excel.metadata.listener.ExcelListener;
 import cn.gjing.tools.excel.metadata.resolver.ExcelWriterResolver;
 import cn.gjing.tools.excel.util.ListenerChain;
 import cn.gjing.tools.excel.util.ParamUtils;
@@ -11,24 +16,29 @@ import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
 import java.util.UUID;
 
 /**
- * Excel base writer
+ * Excel base writer, a writer that is abandoned before {@link #flush()} must be closed
+ * to delete its temporary files and give back its temp storage quota
  *
  * @author Gjing
  **/
-public abstract class ExcelBaseWriter {
+public abstract class ExcelBaseWriter implements AutoCloseable {
     protected ExcelWriterContext context;
     protected HttpServletResponse response;
     protected ExcelWriterResolver writerResolver;
     protected final String defaultSheetName = "Sheet1";
     protected boolean nullIsTemp = true;
+    private final int windowSize;
 
 
     protected ExcelBaseWriter(ExcelWriterContext context, int windowSize, HttpServletResponse response, boolean initDefaultStyle, ExecType type) {
         this.response = response;
         this.context = context;
+        this.windowSize = windowSize;
         this.chooseResolver(context, windowSize, type);
         if (initDefaultStyle) {
             this.initStyle();
@@ -55,7 +65,7 @@ public abstract class ExcelBaseWriter {
                 this.writerResolver = new ExcelWriteXlsResolver(context, execType);
                 break;
             case XLSX:
-                context.setWorkbook(new SXSSFWorkbook(windowSize));
+                context.setWorkbook(new SpoolingXlsxWorkbook(windowSize));
                 this.writerResolver = new ExcelWriteXlsxResolver(context, execType);
                 break;
             default:
@@ -66,12 +76,24 @@ public abstract class ExcelBaseWriter {
      * Flush all content to excel of the cache
      */
     public void flush() {
-        this.processBind();
-        if (ListenerChain.doWorkbookFlushBefore(this.context.getListenerCache(), this.context.getWorkbook())) {
-            this.writerResolver.flush(this.response, this.context);
-            if (this.context.getWorkbook() instanceof SXSSFWorkbook) {
-                ((SXSSFWorkbook) this.context.getWorkbook()).dispose();
+        try {
+            this.processBind();
+            if (ListenerChain.doWorkbookFlushBefore(this.context.getListenerCache(), this.context.getWorkbook())) {
+                if (this.context.getWorkbook() instanceof StreamingXlsxWorkbook) {
+                    try {
+                        ((StreamingXlsxWorkbook) this.context.getWorkbook()).finish();
+                    } catch (IOException e) {
+                        throw new ExcelResolverException("Excel cache data flush failure, " + e.getMessage());
+                    }
+                    return;
+                }
+                this.writerResolver.flush(this.response, this.context);
+            } else if (this.context.getWorkbook() instanceof StreamingXlsxWorkbook
+                    && ((StreamingXlsxWorkbook) this.context.getWorkbook()).isStarted()) {
+                throw new ExcelResolverException("Excel flush was cancelled after part of the streaming excel was sent, the response is incomplete");
             }
+        } finally {
+            this.dispose();
         }
     }
 
@@ -81,11 +103,96 @@ public abstract class ExcelBaseWriter {
      * @param path Absolute path to the directory where the file is stored
      */
     public void flushToLocal(String path) {
-        this.processBind();
-        if (ListenerChain.doWorkbookFlushBefore(this.context.getListenerCache(), this.context.getWorkbook())) {
-            this.writerResolver.flushToLocal(path, this.context);
-            if (this.context.getWorkbook() instanceof SXSSFWorkbook) {
-                ((SXSSFWorkbook) this.context.getWorkbook()).dispose();
+        if (this.context.getWorkbook() instanceof StreamingXlsxWorkbook) {
+            throw new ExcelResolverException("Streaming excel is written to the response, it cannot be flushed to local");
+        }
+        try {
+            this.processBind();
+            if (ListenerChain.doWorkbookFlushBefore(this.context.getListenerCache(), this.context.getWorkbook())) {
+                this.writerResolver.flushToLocal(path, this.context);
+            }
+        } finally {
+            this.dispose();
+        }
+    }
+
+    /**
+     * Delete the temporary files of the xlsx sheets, the writer cannot be used afterwards.
+     * Called by flush and by the write methods when writing fails.
+     * A streaming excel that is not finished is aborted, the response is reset if nothing has been committed yet.
+     * The render pool of the writer is shut down
+     */
+    protected void dispose() {
+        if (this.context.getRenderPool() != null) {
+            this.context.getRenderPool().shutdownNow();
+            this.context.setRenderPool(null);
+        }
+        if (this.context.getWorkbook() instanceof StreamingXlsxWorkbook) {
+            if (((StreamingXlsxWorkbook) this.context.getWorkbook()).abort() && !this.response.isCommitted()) {
+                this.response.reset();
+            }
+            return;
+        }
+        if (this.context.getWorkbook() instanceof SXSSFWorkbook) {
+            ((SXSSFWorkbook) this.context.getWorkbook()).dispose();
+        }
+    }
+
+    /**
+     * Release the writer without flushing, same as {@link #dispose()}.
+     * Nothing happens if the writer has already been flushed
+     */
+    @Override
+    public void close() {
+        this.dispose();
+    }
+
+    /**
+     * Set where the rows leaving the row access window of xlsx sheets are spilled to.
+     * Each writer spills into its own directory below the given one, which is deleted with the files on flush or failure,
+     * compressing the files trades a little CPU for far less disk space and I/O.
+     * The files count against {@link ExcelTempStorage#setQuota(long)}
+     *
+     * @param dir      Parent directory of the temporary directory of the writer, null for the poi temp directory
+     * @param compress Whether to compress the temporary files
+     */
+    protected void initTempStorage(File dir, boolean compress) {
+        if (!(this.context.getWorkbook() instanceof SpoolingXlsxWorkbook)) {
+            throw new ExcelInitException("Temp storage only applies to xlsx that is not streamed");
+        }
+        if (this.context.getWorkbook().getNumberOfSheets() > 0) {
+            throw new ExcelInitException("Temp storage must be set before the first sheet is written");
+        }
+        ((SpoolingXlsxWorkbook) this.context.getWorkbook()).configure(dir, compress);
+    }
+
+    /**
+     * Stream the xlsx to the response while writing instead of spooling the sheets to temporary files
+     * and sending the file at flush, the response starts as soon as the first rows leave the row access window.
+     * The rows of a sheet must be written before the next sheet is written,
+     * column widths and other sheet settings before the rows must be set before the first rows leave the window
+     */
+    protected void initStreaming() {
+        if (this.context.getWorkbook() instanceof StreamingXlsxWorkbook) {
+            return;
+        }
+        if (this.context.getExcelType() != ExcelType.XLSX) {
+            throw new ExcelInitException("Only xlsx can be streamed");
+        }
+        if (this.response == null) {
+            throw new ExcelInitException("Streaming excel needs the response");
+        }
+        if (this.context.getWorkbook().getNumberOfSheets() > 0) {
+            throw new ExcelInitException("Streaming must be enabled before the first sheet is written");
+        }
+        StreamingXlsxWorkbook.checkSupported();
+        ((SXSSFWorkbook) this.context.getWorkbook()).dispose();
+        StreamingXlsxWorkbook workbook = new StreamingXlsxWorkbook(this.windowSize,
+                () -> this.writerResolver.openResponse(this.response, this.context));
+        this.context.setWorkbook(workbook);
+        for (ExcelListener listener : this.context.getListenerCache()) {
+            if (listener instanceof ExcelWorkbookAware) {
+                ((ExcelWorkbookAware) listener).setWorkbook(workbook);
             }
         }
     }
@@ -5,20 +5,24 @@ import cn.gjing.tools.excel.metadata.ExcelFieldProperty;
 import cn.gjing.tools.excel.metadata.ExecType;
 import cn.gjing.tools.excel.metadata.aware.ExcelWorkbookAware;
 import cn.gjing.tools.excel.metadata.aware.ExcelWriteContextAware;
+import cn.gjing.tools.excel.metadata.bind.ExcelClassMetadata;
 import cn.gjing.tools.excel.metadata.listener.DefaultExcelStyleListener;
 import cn.gjing.tools.excel.metadata.listener.DefaultMultiHeadListener;
 import cn.gjing.tools.excel.metadata.listener.ExcelWriteListener;
 import cn.gjing.tools.excel.read.resolver.ExcelBindReader;
-import cn.gjing.tools.excel.util.BeanUtils;
 import cn.gjing.tools.excel.util.ParamUtils;
 import cn.gjing.tools.excel.write.BigTitle;
 import cn.gjing.tools.excel.write.ExcelWriterContext;
+import cn.gjing.tools.excel.write.PageSupplier;
 import org.springframework.util.StringUtils;
 
 import javax.servlet.http.HttpServletResponse;
-import java.util.ArrayList;
+import java.io.File;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 /**
  * Excel bind mode writer.
@@ -127,17 +131,202 @@ public final class ExcelBindWriter extends ExcelBaseWriter {
      * @return this
      */
     public ExcelBindWriter write(List<?> data, String sheetName, boolean needHead, Map<String, String[]> boxValues) {
-        this.createSheet(sheetName);
+        try {
+            this.createSheet(sheetName);
+            if (data == null) {
+                this.context.setTemplate(true);
+                this.writerResolver.writeHead(needHead, boxValues);
+            } else {
+                this.writerResolver.writeHead(needHead, boxValues)
+                        .write(data);
+            }
+        } catch (RuntimeException e) {
+            this.dispose();
+            throw e;
+        }
+        return this;
+    }
+
+    /**
+     * To write, the rows are pulled from the iterator while writing instead of being held in a list
+     *
+     * @param data data
+     * @return this
+     */
+    public ExcelBindWriter writeLazy(Iterator<?> data) {
+        return this.writeLazy(data, this.defaultSheetName, true, null);
+    }
+
+    /**
+     * To write, the rows are pulled from the iterator while writing instead of being held in a list
+     *
+     * @param data      data
+     * @param sheetName sheet name
+     * @return this
+     */
+    public ExcelBindWriter writeLazy(Iterator<?> data, String sheetName) {
+        return this.writeLazy(data, sheetName, true, null);
+    }
+
+    /**
+     * To write, the rows are pulled from the iterator while writing instead of being held in a list
+     *
+     * @param data      data
+     * @param sheetName sheet name
+     * @param boxValues dropdown box values
+     * @param needHead  Whether need excel head
+     * @return this
+     */
+    public ExcelBindWriter writeLazy(Iterator<?> data, String sheetName, boolean needHead, Map<String, String[]> boxValues) {
         if (data == null) {
-            this.context.setTemplate(true);
-            this.writerResolver.writeHead(needHead, boxValues);
-        } else {
+            return this.write((List<?>) null, sheetName, needHead, boxValues);
+        }
+        try {
+            this.createSheet(sheetName);
             this.writerResolver.writeHead(needHead, boxValues)
                     .write(data);
+        } catch (RuntimeException e) {
+            this.dispose();
+            throw e;
         }
         return this;
     }
 
+    /**
+     * To write, the stream is consumed while writing and closed afterwards
+     *
+     * @param data data
+     * @return this
+     */
+    public ExcelBindWriter writeLazy(Stream<?> data) {
+        return this.writeLazy(data, this.defaultSheetName, true, null);
+    }
+
+    /**
+     * To write, the stream is consumed while writing and closed afterwards
+     *
+     * @param data      data
+     * @param sheetName sheet name
+     * @return this
+     */
+    public ExcelBindWriter writeLazy(Stream<?> data, String sheetName) {
+        return this.writeLazy(data, sheetName, true, null);
+    }
+
+    /**
+     * To write, the stream is consumed while writing and closed afterwards
+     *
+     * @param data      data
+     * @param sheetName sheet name
+     * @param boxValues dropdown box values
+     * @param needHead  Whether need excel head
+     * @return this
+     */
+    public ExcelBindWriter writeLazy(Stream<?> data, String sheetName, boolean needHead, Map<String, String[]> boxValues) {
+        if (data == null) {
+            return this.write((List<?>) null, sheetName, needHead, boxValues);
+        }
+        try (Stream<?> stream = data) {
+            return this.writeLazy(stream.iterator(), sheetName, needHead, boxValues);
+        }
+    }
+
+    /**
+     * To write, the pages are requested one by one while writing until an empty page is returned
+     *
+     * @param data Page supplier
+     * @return this
+     */
+    public ExcelBindWriter writeLazy(PageSupplier<?> data) {
+        return this.writeLazy(data, this.defaultSheetName, true, null);
+    }
+
+    /**
+     * To write, the pages are requested one by one while writing until an empty page is returned
+     *
+     * @param data      Page supplier
+     * @param sheetName sheet name
+     * @return this
+     */
+    public ExcelBindWriter writeLazy(PageSupplier<?> data, String sheetName) {
+        return this.writeLazy(data, sheetName, true, null);
+    }
+
+    /**
+     * To write, the pages are requested one by one while writing until an empty page is returned
+     *
+     * @param data      Page supplier
+     * @param sheetName sheet name
+     * @param boxValues dropdown box values
+     * @param needHead  Whether need excel head
+     * @return this
+     */
+    public ExcelBindWriter writeLazy(PageSupplier<?> data, String sheetName, boolean needHead, Map<String, String[]> boxValues) {
+        if (data == null || this.context.getPrefetch() == 0) {
+            return this.writeLazy(data == null ? null : data.iterator(), sheetName, needHead, boxValues);
+        }
+        PrefetchPageIterator iterator = new PrefetchPageIterator(data, this.context.getPrefetch());
+        try {
+            return this.writeLazy(iterator, sheetName, needHead, boxValues);
+        } finally {
+            iterator.close();
+        }
+    }
+
+    /**
+     * Fetch the pages of a {@link PageSupplier} on a producer thread while the current page is written,
+     * so that the database reads overlap with the sheet writes.
+     * The page supplier is then called from the producer thread and must not depend on the writing thread,
+     * it has no request, transaction or other thread bound context, so pass it what it needs.
+     * If it fails the write fails with its exception, if the write fails the producer is stopped and waited for
+     *
+     * @param pages The maximum number of pages fetched ahead of the written page, 0 to fetch on the writing thread
+     * @return this
+     */
+    public ExcelBindWriter prefetch(int pages) {
+        if (pages < 0) {
+            throw new IllegalArgumentException("Prefetch pages cannot be negative");
+        }
+        this.context.setPrefetch(pages);
+        return this;
+    }
+
+    /**
+     * Compute the body cell values on a fork join pool while the computed rows are written to the sheet in order.
+     * Useful when data converters or EL expressions are expensive.
+     * Data converters and EL expressions are then called from the pool and must be thread-safe,
+     * write listeners and merge callbacks are still called from the writing thread
+     *
+     * @param threads The number of render threads, 0 to compute the values on the writing thread
+     * @return this
+     */
+    public ExcelBindWriter parallelRender(int threads) {
+        return this.parallelRender(threads, 0);
+    }
+
+    /**
+     * Compute the body cell values on a fork join pool while the computed rows are written to the sheet in order.
+     * Useful when data converters or EL expressions are expensive.
+     * Data converters and EL expressions are then called from the pool and must be thread-safe,
+     * write listeners and merge callbacks are still called from the writing thread.
+     * The pool is created once and used by all sheets and writes of the writer, it is shut down on flush or close
+     *
+     * @param threads   The number of render threads, 0 to compute the values on the writing thread
+     * @param blockSize The number of rows computed together, 0 means 256 rows per thread
+     * @return this
+     */
+    public ExcelBindWriter parallelRender(int threads, int blockSize) {
+        if (threads < 0 || blockSize < 0) {
+            throw new IllegalArgumentException("Threads and block size cannot be negative");
+        }
+        if (this.context.getRenderPool() != null) {
+            this.context.getRenderPool().shutdownNow();
+        }
+        this.context.setRenderPool(threads > 0 ? new ForkJoinPool(threads) : null);
+        this.context.setRenderBlockSize(blockSize);
+        return this;
+    }
+
     /**
      * Write an Excel header that does not trigger a row callback or cell callback
      *
@@ -157,8 +346,13 @@ public final class ExcelBindWriter extends ExcelBaseWriter {
      */
     public ExcelBindWriter writeTitle(BigTitle bigTitle, String sheetName) {
         if (bigTitle != null) {
-            this.createSheet(sheetName);
-            this.writerResolver.writeTitle(bigTitle);
+            try {
+                this.createSheet(sheetName);
+                this.writerResolver.writeTitle(bigTitle);
+            } catch (RuntimeException e) {
+                this.dispose();
+                throw e;
+            }
         }
         return this;
     }
@@ -187,8 +381,9 @@ public final class ExcelBindWriter extends ExcelBaseWriter {
     public ExcelBindWriter resetExcelClass(Class<?> excelClass, boolean resetListener, boolean resetAll, String... ignores) {
         Excel excel = excelClass.getAnnotation(Excel.class);
         ParamUtils.requireNonNull(excel, "Failed to reset Excel class, the @Excel annotation was not found on the " + excelClass);
-        List<ExcelFieldProperty> properties = new ArrayList<>();
-        this.context.setExcelFields(BeanUtils.getExcelFields(excelClass, ignores, properties));
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(excelClass);
+        List<ExcelFieldProperty> properties = metadata.getFieldProperties(ignores);
+        this.context.setExcelFields(metadata.getExcelFields(ignores));
         if (resetListener) {
             this.context.setExcelClass(excelClass, resetAll);
         } else {
@@ -284,6 +479,32 @@ public final class ExcelBindWriter extends ExcelBaseWriter {
         return this;
     }
 
+    /**
+     * Stream the xlsx to the response while writing instead of spooling the sheets to temporary files
+     * and sending the file at flush, the client receives data as soon as the first rows leave the row access window.
+     * Must be enabled before anything is written, the rows of a sheet must be written before the next sheet is written
+     *
+     * @return this
+     */
+    public ExcelBindWriter streaming() {
+        this.initStreaming();
+        return this;
+    }
+
+    /**
+     * Spill the rows leaving the row access window into a directory of this writer below the given one,
+     * the directory is deleted on flush or when writing fails. Must be set before anything is written
+     *
+     * @param dir      Parent directory, null for the poi temp directory
+     * @param compress Whether to compress the temporary files with a fast codec
+     * @return this
+     * @see ExcelTempStorage
+     */
+    public ExcelBindWriter tempStorage(File dir, boolean compress) {
+        this.initTempStorage(dir, compress);
+        return this;
+    }
+
     /**
      * Add write listener
      *
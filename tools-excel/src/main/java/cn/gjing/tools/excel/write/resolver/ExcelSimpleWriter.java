@@ -13,6 +13,7 @@ import cn.gjing.tools.excel.write.ExcelWriterContext;
 import org.springframework.util.StringUtils;
 
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -109,11 +110,16 @@ public final class ExcelSimpleWriter extends ExcelBaseWriter {
      */
     public ExcelSimpleWriter writeTitle(BigTitle bigTitle, String sheetName) {
         if (bigTitle != null) {
-            this.createSheet(sheetName);
-            if (bigTitle.getLastCol() < 1) {
-                bigTitle.setLastCol(this.context.getFieldProperties().size() - 1);
+            try {
+                this.createSheet(sheetName);
+                if (bigTitle.getLastCol() < 1) {
+                    bigTitle.setLastCol(this.context.getFieldProperties().size() - 1);
+                }
+                this.writerResolver.writeTitle(bigTitle);
+            } catch (RuntimeException e) {
+                this.dispose();
+                throw e;
             }
-            this.writerResolver.writeTitle(bigTitle);
         }
         return this;
     }
@@ -159,13 +165,18 @@ public final class ExcelSimpleWriter extends ExcelBaseWriter {
      * @return this
      */
     public ExcelSimpleWriter write(List<List<Object>> data, String sheetName, boolean needHead) {
-        this.createSheet(sheetName);
-        if (data == null) {
-            this.context.setTemplate(true);
-            this.writerResolver.writeHead(needHead, null);
-        } else {
-            this.writerResolver.writeHead(needHead, null)
-                    .write(data);
+        try {
+            this.createSheet(sheetName);
+            if (data == null) {
+                this.context.setTemplate(true);
+                this.writerResolver.writeHead(needHead, null);
+            } else {
+                this.writerResolver.writeHead(needHead, null)
+                        .write(data);
+            }
+        } catch (RuntimeException e) {
+            this.dispose();
+            throw e;
         }
         return this;
     }
@@ -205,6 +216,32 @@ public final class ExcelSimpleWriter extends ExcelBaseWriter {
         return this;
     }
 
+    /**
+     * Stream the xlsx to the response while writing instead of spooling the sheets to temporary files
+     * and sending the file at flush, the client receives data as soon as the first rows leave the row access window.
+     * Must be enabled before anything is written, the rows of a sheet must be written before the next sheet is written
+     *
+     * @return this
+     */
+    public ExcelSimpleWriter streaming() {
+        this.initStreaming();
+        return this;
+    }
+
+    /**
+     * Spill the rows leaving the row access window into a directory of this writer below the given one,
+     * the directory is deleted on flush or when writing fails. Must be set before anything is written
+     *
+     * @param dir      Parent directory, null for the poi temp directory
+     * @param compress Whether to compress the temporary files with a fast codec
+     * @return this
+     * @see ExcelTempStorage
+     */
+    public ExcelSimpleWriter tempStorage(File dir, boolean compress) {
+        this.initTempStorage(dir, compress);
+        return this;
+    }
+
     /**
      * Add write listener
      *
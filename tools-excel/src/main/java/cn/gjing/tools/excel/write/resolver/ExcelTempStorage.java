@@ -0,0 +1,73 @@
+package cn.gjing.tools.excel.write.resolver;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-wide accounting of the temporary files that xlsx exports spill their rows to.
+ * Every byte written to a temporary sheet file is counted until the writer deletes its files,
+ * once the quota is reached further rows fail the export instead of filling the disk
+ *
+ * @author Gjing
+ **/
+public final class ExcelTempStorage {
+    private static final AtomicLong USED_BYTES = new AtomicLong();
+    private static volatile long quota = -1;
+
+    private ExcelTempStorage() {
+    }
+
+    /**
+     * Set the maximum size of the temporary files of all exports
+     *
+     * @param bytes Quota in bytes, -1 means no limit
+     */
+    public static void setQuota(long bytes) {
+        if (bytes < -1) {
+            throw new IllegalArgumentException("Invalid temp storage quota " + bytes);
+        }
+        quota = bytes;
+    }
+
+    /**
+     * Get the maximum size of the temporary files of all exports
+     *
+     * @return Quota in bytes, -1 means no limit
+     */
+    public static long getQuota() {
+        return quota;
+    }
+
+    /**
+     * Get the size of the temporary files that are not deleted yet
+     *
+     * @return bytes
+     */
+    public static long getUsedBytes() {
+        return USED_BYTES.get();
+    }
+
+    /**
+     * Count bytes about to be written to a temporary file
+     *
+     * @param bytes Number of bytes
+     * @throws IOException If the quota would be exceeded
+     */
+    static void reserve(long bytes) throws IOException {
+        long used = USED_BYTES.addAndGet(bytes);
+        long limit = quota;
+        if (limit >= 0 && used > limit) {
+            USED_BYTES.addAndGet(-bytes);
+            throw new IOException("Excel temp storage quota of " + limit + " bytes exceeded");
+        }
+    }
+
+    /**
+     * Stop counting bytes of deleted temporary files
+     *
+     * @param bytes Number of bytes
+     */
+    static void release(long bytes) {
+        USED_BYTES.addAndGet(-bytes);
+    }
+}
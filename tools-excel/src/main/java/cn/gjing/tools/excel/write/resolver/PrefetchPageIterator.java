@@ -0,0 +1,126 @@
+package cn.gjing.tools.excel.write.resolver;
+
+import cn.gjing.tools.excel.exception.ExcelResolverException;
+import cn.gjing.tools.excel.write.PageSupplier;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+
+/**
+ * Fetches the pages of a page supplier on a producer thread while the rows of the current page are written.
+ * At most the given number of pages are fetched ahead of the written page, one less than that waits in the queue
+ * and the producer blocks with the last one until the writer takes a page.
+ * The supplier runs on the producer thread, it has no request, transaction or other thread bound context of the writer.
+ * A failure of the supplier is rethrown on the writing thread, closing the iterator cancels the producer and waits for it
+ *
+ * @author Gjing
+ **/
+final class PrefetchPageIterator implements Iterator<Object> {
+    private static final Object END = new Object();
+
+    /**
+     * How long closing waits for a producer stuck in the supplier
+     */
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+    private final BlockingQueue<Object> pages;
+    private final Thread producer;
+    private volatile boolean cancelled;
+    private Iterator<?> current = Collections.emptyIterator();
+    private boolean end;
+
+    PrefetchPageIterator(PageSupplier<?> supplier, int prefetch) {
+        this.pages = prefetch == 1 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(prefetch - 1);
+        this.producer = new Thread(() -> this.produce(supplier), "excel-write-prefetch");
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.end && !this.current.hasNext()) {
+            Object page = this.take();
+            if (page == END) {
+                this.end = true;
+            } else if (page instanceof Failure) {
+                this.end = true;
+                Throwable cause = ((Failure) page).cause;
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new ExcelResolverException("Fetch export page failure, " + cause.getMessage());
+            } else {
+                this.current = ((List<?>) page).iterator();
+            }
+        }
+        return !this.end;
+    }
+
+    @Override
+    public Object next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.current.next();
+    }
+
+    /**
+     * Stop the producer, drop the fetched pages and wait a bounded time for the producer to leave the supplier
+     */
+    void close() {
+        this.cancelled = true;
+        this.end = true;
+        this.producer.interrupt();
+        this.pages.clear();
+        try {
+            this.producer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Object take() {
+        try {
+            return this.pages.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.close();
+            throw new ExcelResolverException("Excel write interrupted");
+        }
+    }
+
+    private void produce(PageSupplier<?> supplier) {
+        try {
+            for (int page = 0; !this.cancelled; page++) {
+                List<?> data = supplier.get(page);
+                if (data == null || data.isEmpty()) {
+                    this.pages.put(END);
+                    return;
+                }
+                this.pages.put(data);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            try {
+                if (!this.cancelled) {
+                    this.pages.put(new Failure(e));
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Failure {
+        private final Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
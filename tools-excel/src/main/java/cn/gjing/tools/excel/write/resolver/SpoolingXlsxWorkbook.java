@@ -0,0 +1,171 @@
+package cn.gjing.tools.excel.write.resolver;
+
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Xlsx workbook that spills the rows leaving the row access window to temporary sheet files it manages itself.
+ * The files are created in a directory of the workbook, optionally compressed with the fastest deflate level,
+ * counted against the {@link ExcelTempStorage} quota and deleted together with the directory by {@link #dispose()}
+ *
+ * @author Gjing
+ **/
+final class SpoolingXlsxWorkbook extends SXSSFWorkbook {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Parent of the directory of the workbook, null for the poi temp directory
+     */
+    private File tempDir;
+    private boolean compress;
+    private File directory;
+    private final AtomicLong spooledBytes = new AtomicLong();
+
+    SpoolingXlsxWorkbook(int windowSize) {
+        super(windowSize);
+    }
+
+    /**
+     * Set where and how the temporary sheet files are written, it must be set before the first sheet is created
+     *
+     * @param tempDir  Parent of the directory of the workbook, null for the poi temp directory
+     * @param compress Whether to compress the sheet files
+     */
+    void configure(File tempDir, boolean compress) {
+        this.tempDir = tempDir;
+        this.compress = compress;
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        return new SpoolingSheetDataWriter();
+    }
+
+    /**
+     * Delete the temporary sheet files and the directory of the workbook
+     *
+     * @return Whether all files were deleted
+     */
+    @Override
+    public boolean dispose() {
+        boolean deleted;
+        try {
+            deleted = super.dispose();
+        } finally {
+            ExcelTempStorage.release(this.spooledBytes.getAndSet(0));
+            if (this.directory != null) {
+                File[] files = this.directory.listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        file.delete();
+                    }
+                }
+                this.directory.delete();
+                this.directory = null;
+            }
+        }
+        return deleted;
+    }
+
+    private File getDirectory() throws IOException {
+        if (this.tempDir == null) {
+            return null;
+        }
+        if (this.directory == null) {
+            Files.createDirectories(this.tempDir.toPath());
+            this.directory = Files.createTempDirectory(this.tempDir.toPath(), "excel-").toFile();
+        }
+        return this.directory;
+    }
+
+    /**
+     * Sheet data writer of the workbook, the outer workbook is assigned before the super constructor creates the file
+     */
+    private final class SpoolingSheetDataWriter extends SheetDataWriter {
+        SpoolingSheetDataWriter() throws IOException {
+            super();
+        }
+
+        @Override
+        public File createTempFile() throws IOException {
+            File directory = getDirectory();
+            String suffix = compress ? ".xml.deflate" : ".xml";
+            return directory == null ? TempFile.createTempFile("poi-sxssf-sheet", suffix) : File.createTempFile("poi-sxssf-sheet", suffix, directory);
+        }
+
+        @Override
+        protected OutputStream decorateOutputStream(FileOutputStream fos) {
+            OutputStream out = new CountingOutputStream(fos, spooledBytes);
+            if (!compress) {
+                return out;
+            }
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            return new DeflaterOutputStream(out, deflater, BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deflater.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        protected InputStream decorateInputStream(FileInputStream fis) {
+            if (!compress) {
+                return fis;
+            }
+            Inflater inflater = new Inflater();
+            return new InflaterInputStream(fis, inflater, BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inflater.end();
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * Counts the bytes written to a temporary file against the quota
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private final AtomicLong spooledBytes;
+
+        CountingOutputStream(OutputStream out, AtomicLong spooledBytes) {
+            super(out);
+            this.spooledBytes = spooledBytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.count(1);
+            this.out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.count(len);
+            this.out.write(b, off, len);
+        }
+
+        private void count(int len) throws IOException {
+            ExcelTempStorage.reserve(len);
+            this.spooledBytes.addAndGet(len);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package cn.gjing.tools.excel.write.resolver;
+
+import cn.gjing.tools.excel.exception.ExcelInitException;
+import cn.gjing.tools.excel.exception.ExcelResolverException;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Xlsx workbook that streams the sheet XML into the zip of the output instead of spooling it to temporary files.
+ * The output is opened when the first rows leave the row access window, each sheet is one zip entry made of
+ * the sheet template before the rows, the flushed rows and the sheet template after the rows.
+ * When the rows of another sheet are flushed, the remaining rows of the current sheet are flushed and its entry is closed,
+ * so the rows of a sheet must be written before the next sheet is written and
+ * sheet settings that are written before the rows, such as column widths, must be set before the first rows are flushed.
+ * The workbook, styles and the other parts are added by {@link #finish()}, a failed or disposed workbook aborts the zip
+ * without finishing it, so an incomplete output never ends like a complete one
+ *
+ * @author Gjing
+ **/
+final class StreamingXlsxWorkbook extends SXSSFWorkbook {
+    private static final Method WRITE_SHEET;
+    private static final String UNSUPPORTED;
+    private static final String EMPTY_SHEET_DATA = "<sheetData/>";
+
+    static {
+        Method method;
+        String unsupported = null;
+        try {
+            method = XSSFSheet.class.getDeclaredMethod("write", OutputStream.class);
+            method.setAccessible(true);
+        } catch (NoSuchMethodException | RuntimeException e) {
+            method = null;
+            unsupported = e.toString();
+        }
+        WRITE_SHEET = method;
+        UNSUPPORTED = unsupported;
+    }
+
+    private final Callable<OutputStream> output;
+    private final Map<SXSSFSheet, SheetEntryWriter> entries = new IdentityHashMap<>();
+    private SheetEntryWriter created;
+    private SheetEntryWriter active;
+    private ZipOutputStream zip;
+    private Writer xml;
+    private boolean started;
+    private boolean finished;
+    private boolean aborted;
+
+    /**
+     * Create a streaming workbook
+     *
+     * @param windowSize Number of rows kept in memory per sheet
+     * @param output     Opens the output when the first bytes are written
+     */
+    StreamingXlsxWorkbook(int windowSize, Callable<OutputStream> output) {
+        super(windowSize);
+        this.output = output;
+    }
+
+    /**
+     * Check that the poi version lets the sheet templates be serialized, called when streaming is enabled
+     */
+    static void checkSupported() {
+        if (WRITE_SHEET == null) {
+            throw new ExcelInitException("Streaming xlsx is not supported by the poi version, " + UNSUPPORTED);
+        }
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        StreamingSheetDataWriter writer = new StreamingSheetDataWriter();
+        writer.entry.workbook = this;
+        this.created = writer.entry;
+        return writer;
+    }
+
+    @Override
+    public SXSSFSheet createSheet() {
+        return this.register(super.createSheet());
+    }
+
+    @Override
+    public SXSSFSheet createSheet(String sheetname) {
+        return this.register(super.createSheet(sheetname));
+    }
+
+    /**
+     * The sheets are streamed while writing, use {@link #finish()}
+     *
+     * @param stream output stream
+     */
+    @Override
+    public void write(OutputStream stream) {
+        throw new ExcelResolverException("Streaming xlsx is written to the response while writing, it cannot be written again");
+    }
+
+    /**
+     * There are no temporary files to delete, a workbook that is not finished is aborted
+     *
+     * @return true
+     */
+    @Override
+    public boolean dispose() {
+        this.abort();
+        return true;
+    }
+
+    /**
+     * Whether the output has been opened
+     *
+     * @return boolean
+     */
+    boolean isStarted() {
+        return this.started;
+    }
+
+    /**
+     * Drop the output without finishing the zip, the output is left open and the caller reports the error
+     *
+     * @return Whether part of the workbook has been written to the output
+     */
+    boolean abort() {
+        if (!this.finished && !this.aborted) {
+            this.aborted = true;
+            this.zip = null;
+            this.xml = null;
+            try {
+                this.getXSSFWorkbook().close();
+            } catch (IOException ignored) {
+            }
+        }
+        return this.started && !this.finished;
+    }
+
+    /**
+     * Flush the remaining rows of every sheet, add the other parts of the workbook and close the output.
+     * The workbook is aborted if any of it fails
+     *
+     * @throws IOException Write error
+     */
+    void finish() throws IOException {
+        this.checkAborted();
+        try {
+            Set<String> streamed = new HashSet<>();
+            for (int i = 0; i < this.getNumberOfSheets(); i++) {
+                SXSSFSheet sheet = this.getSheetAt(i);
+                SheetEntryWriter entry = this.entries.get(sheet);
+                if (!entry.closed) {
+                    this.activate(entry);
+                    sheet.flushRows();
+                    this.closeEntry(entry);
+                }
+                streamed.add(entry.getPartName());
+            }
+            this.openOutput();
+            ByteArrayOutputStream template = new ByteArrayOutputStream();
+            this.getXSSFWorkbook().write(template);
+            try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(template.toByteArray()))) {
+                byte[] buffer = new byte[8192];
+                for (ZipEntry zipEntry = in.getNextEntry(); zipEntry != null; zipEntry = in.getNextEntry()) {
+                    if (streamed.contains(zipEntry.getName())) {
+                        continue;
+                    }
+                    this.zip.putNextEntry(new ZipEntry(zipEntry.getName()));
+                    for (int len = in.read(buffer); len != -1; len = in.read(buffer)) {
+                        this.zip.write(buffer, 0, len);
+                    }
+                    this.zip.closeEntry();
+                }
+            }
+            this.zip.finish();
+        } catch (IOException | RuntimeException e) {
+            this.abort();
+            throw e;
+        }
+        this.finished = true;
+        try {
+            this.zip.close();
+        } finally {
+            this.getXSSFWorkbook().close();
+        }
+    }
+
+    private void checkAborted() throws IOException {
+        if (this.aborted) {
+            throw new IOException("Streaming xlsx has been aborted, the output is incomplete");
+        }
+    }
+
+    private SXSSFSheet register(SXSSFSheet sheet) {
+        this.created.sheet = sheet;
+        this.entries.put(sheet, this.created);
+        this.created = null;
+        return sheet;
+    }
+
+    private void openOutput() throws IOException {
+        this.checkAborted();
+        if (this.zip != null) {
+            return;
+        }
+        OutputStream out;
+        try {
+            out = this.output.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        this.started = true;
+        this.zip = new ZipOutputStream(out);
+        this.xml = new BufferedWriter(new OutputStreamWriter(this.zip, StandardCharsets.UTF_8), 8192);
+    }
+
+    /**
+     * Make the entry of the sheet the one being written, the previous sheet is finished first
+     *
+     * @param entry Sheet entry
+     * @throws IOException Write error
+     */
+    private void activate(SheetEntryWriter entry) throws IOException {
+        this.checkAborted();
+        if (this.active == entry) {
+            return;
+        }
+        if (entry.closed) {
+            throw new IOException("Sheet " + entry.sheet.getSheetName() + " has already been streamed, "
+                    + "the rows of a sheet must be written before the next sheet is written");
+        }
+        if (this.active != null) {
+            SheetEntryWriter previous = this.active;
+            previous.sheet.flushRows();
+            this.closeEntry(previous);
+        }
+        this.openOutput();
+        String[] template = this.sheetTemplate(entry.sheet);
+        this.zip.putNextEntry(new ZipEntry(entry.getPartName()));
+        this.xml.write(template[0]);
+        this.xml.write("<sheetData>");
+        this.active = entry;
+    }
+
+    private void closeEntry(SheetEntryWriter entry) throws IOException {
+        String[] template = this.sheetTemplate(entry.sheet);
+        this.xml.write("</sheetData>");
+        this.xml.write(template[1]);
+        this.xml.flush();
+        this.zip.closeEntry();
+        entry.closed = true;
+        this.active = null;
+    }
+
+    /**
+     * Serialize the sheet without rows and split it around the sheet data
+     *
+     * @param sheet Sheet
+     * @return The XML before and after the sheet data
+     * @throws IOException Serialize error
+     */
+    private String[] sheetTemplate(SXSSFSheet sheet) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        try {
+            WRITE_SHEET.invoke(this.getXSSFWorkbook().getSheetAt(this.getSheetIndex(sheet)), out);
+        } catch (IllegalAccessException e) {
+            throw new IOException(e.getMessage(), e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        }
+        String template = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        int index = template.indexOf(EMPTY_SHEET_DATA);
+        if (index == -1) {
+            throw new IOException("Sheet data was not found in the template of sheet " + sheet.getSheetName());
+        }
+        return new String[]{template.substring(0, index), template.substring(index + EMPTY_SHEET_DATA.length())};
+    }
+
+    /**
+     * Sheet data writer that writes the rows into the zip entry of its sheet, no temporary file is created
+     */
+    private static final class StreamingSheetDataWriter extends SheetDataWriter {
+        private SheetEntryWriter entry;
+
+        StreamingSheetDataWriter() throws IOException {
+            super();
+        }
+
+        @Override
+        public File createTempFile() {
+            return null;
+        }
+
+        @Override
+        public Writer createWriter(File fd) {
+            this.entry = new SheetEntryWriter();
+            return this.entry;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        protected void finalize() {
+        }
+    }
+
+    /**
+     * Rows of a sheet, written into the sheet entry once it is active
+     */
+    private static final class SheetEntryWriter extends Writer {
+        private StreamingXlsxWorkbook workbook;
+        private SXSSFSheet sheet;
+        private boolean closed;
+
+        String getPartName() {
+            return this.workbook.getXSSFWorkbook().getSheetAt(this.workbook.getSheetIndex(this.sheet))
+                    .getPackagePart().getPartName().getName().substring(1);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            this.workbook.activate(this);
+            this.workbook.xml.write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            this.workbook.activate(this);
+            this.workbook.xml.write(str, off, len);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
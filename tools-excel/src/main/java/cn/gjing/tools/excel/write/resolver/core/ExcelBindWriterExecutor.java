@@ -1,14 +1,19 @@
 package cn.gjing.tools.excel.write.resolver.core;
 
-import cn.gjing.tools.excel.convert.ExcelDataConvert;
+import cn.gjing.tools.excel.convert.DataConvert;
+import cn.gjing.tools.excel.convert.DefaultDataConvert;
 import cn.gjing.tools.excel.exception.ExcelResolverException;
 import cn.gjing.tools.excel.metadata.ExcelFieldProperty;
 import cn.gjing.tools.excel.metadata.RowType;
+import cn.gjing.tools.excel.metadata.bind.ExcelClassBinder;
+import cn.gjing.tools.excel.metadata.bind.ExcelClassMetadata;
+import cn.gjing.tools.excel.metadata.bind.ExcelFieldBinder;
+import cn.gjing.tools.excel.metadata.listener.ExcelListener;
 import cn.gjing.tools.excel.metadata.resolver.ExcelBaseWriteExecutor;
-import cn.gjing.tools.excel.util.BeanUtils;
 import cn.gjing.tools.excel.util.ExcelUtils;
 import cn.gjing.tools.excel.util.ListenerChain;
 import cn.gjing.tools.excel.write.ExcelWriterContext;
+import cn.gjing.tools.excel.write.listener.ExcelCellWriteListener;
 import cn.gjing.tools.excel.write.valid.handle.ExcelValidAnnotationHandler;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
@@ -17,8 +22,13 @@ import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Export processor for Excel bind mode
@@ -43,6 +53,7 @@ public final class ExcelBindWriterExecutor extends ExcelBaseWriteExecutor {
             return;
         }
         Row headRow;
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(this.context.getExcelClass());
         String[] currentRowHeadArray = new String[this.context.getFieldProperties().size()];
         for (int index = 0; index < this.context.getHeaderSeries(); index++) {
             ListenerChain.doCreateRowBefore(this.context.getListenerCache(), this.context.getSheet(), index, RowType.HEAD);
@@ -60,7 +71,7 @@ public final class ExcelBindWriterExecutor extends ExcelBaseWriteExecutor {
                     try {
                         Field field = this.context.getExcelFields().get(colIndex);
                         for (ExcelValidAnnotationHandler validAnnotationHandler : this.context.getValidAnnotationHandlers()) {
-                            Annotation annotation = this.context.getExcelFields().get(colIndex).getAnnotation(validAnnotationHandler.getAnnotationClass());
+                            Annotation annotation = metadata.getAnnotation(field, validAnnotationHandler.getAnnotationClass());
                             if (annotation != null) {
                                 validAnnotationHandler.handle(annotation, this.context, field, headRow, colIndex, boxValues);
                                 break;
@@ -84,38 +95,233 @@ public final class ExcelBindWriterExecutor extends ExcelBaseWriteExecutor {
      * @param data Export data
      */
     @Override
-    public void writeBody(List<?> data) {
-        EvaluationContext context = new StandardEvaluationContext();
-        for (int index = 0, dataSize = data.size(); index < dataSize; index++) {
-            Object o = data.get(index);
+    public void writeBody(Iterator<?> data) {
+        ExcelClassBinder classBinder = ExcelClassBinder.of(this.context.getExcelClass());
+        int headSize = this.context.getExcelFields().size();
+        ExcelFieldBinder[] binders = new ExcelFieldBinder[headSize];
+        boolean[] directs = this.directColumns(classBinder, binders);
+        if (this.context.getRenderPool() != null) {
+            this.writeBodyParallel(data, binders, directs);
+            return;
+        }
+        for (int index = 0; data.hasNext(); index++) {
+            Object o = data.next();
+            this.writeRow(o, null, index, !data.hasNext(), binders, directs);
+        }
+    }
+
+    /**
+     * Set excel body, the rows are taken in blocks and the cell values of a block are computed on the render pool of the writer
+     * while the previous block is written to the sheet in order
+     *
+     * @param data    Export data
+     * @param binders Field binders of the current excel fields
+     * @param directs Whether each column can be written directly
+     */
+    private void writeBodyParallel(Iterator<?> data, ExcelFieldBinder[] binders, boolean[] directs) {
+        ForkJoinPool pool = this.context.getRenderPool();
+        int threads = pool.getParallelism();
+        int blockSize = this.context.getRenderBlockSize() > 0 ? this.context.getRenderBlockSize() : threads * 256;
+        DataConvert<?>[] dataConverts = new DataConvert<?>[binders.length];
+        for (int colIndex = 0; colIndex < binders.length; colIndex++) {
+            if (!directs[colIndex]) {
+                dataConverts[colIndex] = this.createDataConvert(colIndex, this.context.getFieldProperties().get(colIndex));
+            }
+        }
+        RenderBlock next = this.renderBlock(pool, data, blockSize, threads, binders, directs, dataConverts);
+        try {
+            for (int index = 0; next != null; ) {
+                RenderBlock block = next;
+                block.await();
+                next = data.hasNext() ? this.renderBlock(pool, data, blockSize, threads, binders, directs, dataConverts) : null;
+                for (int i = 0, size = block.rows.size(); i < size; i++, index++) {
+                    this.writeRow(block.rows.get(i), block.values[i], index, next == null && i == size - 1, binders, directs);
+                }
+            }
+        } catch (RuntimeException e) {
+            // the pool outlives this call, the block computed ahead is no longer needed
+            if (next != null) {
+                next.cancel();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Take the next block of rows and start computing their cell values
+     *
+     * @return Render block
+     */
+    private RenderBlock renderBlock(ForkJoinPool pool, Iterator<?> data, int blockSize, int threads, ExcelFieldBinder[] binders,
+                                    boolean[] directs, DataConvert<?>[] dataConverts) {
+        List<Object> rows = new ArrayList<>(blockSize);
+        while (rows.size() < blockSize && data.hasNext()) {
+            rows.add(data.next());
+        }
+        Object[][] values = new Object[rows.size()][];
+        int chunk = Math.max(1, (rows.size() + threads * 4 - 1) / (threads * 4));
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += chunk) {
+            int start = from;
+            int end = Math.min(rows.size(), from + chunk);
+            tasks.add(pool.submit(() -> {
+                EvaluationContext context = new StandardEvaluationContext();
+                for (int i = start; i < end; i++) {
+                    values[i] = this.renderRow(rows.get(i), context, binders, directs, dataConverts);
+                }
+            }));
+        }
+        return new RenderBlock(rows, values, tasks);
+    }
+
+    /**
+     * Compute the cell values of a row, the directly written columns are left empty
+     *
+     * @return Cell values by column
+     */
+    private Object[] renderRow(Object o, EvaluationContext context, ExcelFieldBinder[] binders, boolean[] directs, DataConvert<?>[] dataConverts) {
+        Object[] values = new Object[binders.length];
+        context.setVariable(o.getClass().getSimpleName(), o);
+        for (int colIndex = 0; colIndex < binders.length; colIndex++) {
+            if (directs[colIndex]) {
+                continue;
+            }
+            try {
+                Object value = binders[colIndex].getValue(o);
+                context.setVariable(binders[colIndex].getField().getName(), value);
+                values[colIndex] = this.convert(value, o, binders[colIndex].getExportExpression(), context, dataConverts[colIndex]);
+            } catch (Exception e) {
+                throw new ExcelResolverException(e.getMessage());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Write a body row
+     *
+     * @param o       The object corresponding to the current row
+     * @param values  Computed cell values, null to compute them on the current thread
+     * @param index   The data index, start at 0
+     * @param last    Whether the current row is the last data
+     * @param binders Field binders of the current excel fields
+     * @param directs Whether each column can be written directly
+     */
+    private void writeRow(Object o, Object[] values, int index, boolean last, ExcelFieldBinder[] binders, boolean[] directs) {
+        EvaluationContext context = this.evaluationContext;
+        if (values == null) {
             context.setVariable(o.getClass().getSimpleName(), o);
-            ListenerChain.doCreateRowBefore(this.context.getListenerCache(), this.context.getSheet(), index, RowType.BODY);
-            Row valueRow = this.context.getSheet().createRow(this.context.getSheet().getPhysicalNumberOfRows());
-            valueRow.setHeight(this.context.getBodyHeight());
-            for (int colIndex = 0, headSize = this.context.getExcelFields().size(); colIndex < headSize; colIndex++) {
-                Field field = this.context.getExcelFields().get(colIndex);
-                ExcelFieldProperty property = this.context.getFieldProperties().get(colIndex);
-                Object value = BeanUtils.getFieldValue(o, field);
-                Cell valueCell = valueRow.createCell(valueRow.getPhysicalNumberOfCells());
-                context.setVariable(field.getName(), value);
-                try {
-                    value = this.convert(value, o, field.getAnnotation(ExcelDataConvert.class), context,
-                            this.createDataConvert(colIndex, property));
+        }
+        ListenerChain.doCreateRowBefore(this.context.getListenerCache(), this.context.getSheet(), index, RowType.BODY);
+        Row valueRow = this.context.getSheet().createRow(this.context.getSheet().getPhysicalNumberOfRows());
+        valueRow.setHeight(this.context.getBodyHeight());
+        for (int colIndex = 0, headSize = binders.length; colIndex < headSize; colIndex++) {
+            Field field = this.context.getExcelFields().get(colIndex);
+            ExcelFieldProperty property = this.context.getFieldProperties().get(colIndex);
+            Cell valueCell = valueRow.createCell(valueRow.getPhysicalNumberOfCells());
+            try {
+                if (directs[colIndex]) {
+                    valueCell.setCellValue(binders[colIndex].getDouble(o));
+                } else {
+                    Object value;
+                    if (values == null) {
+                        value = binders[colIndex].getValue(o);
+                        context.setVariable(field.getName(), value);
+                        value = this.convert(value, o, binders[colIndex].getExportExpression(), context,
+                                this.createDataConvert(colIndex, property));
+                    } else {
+                        value = values[colIndex];
+                    }
                     value = ListenerChain.doAssignmentBefore(this.context.getListenerCache(), this.context.getSheet(),
                             valueRow, valueCell, property, index, valueCell.getColumnIndex(), RowType.BODY, value);
                     ExcelUtils.setCellValue(valueCell, value);
                     if (property.isAutoMerge()) {
                         this.autoMergeY(this.createMergeCallback(colIndex, property), valueRow, property.isMergeEmpty(), index,
-                                valueCell.getColumnIndex(), value, o, dataSize, field);
+                                valueCell.getColumnIndex(), value, o, last, field);
+                    }
+                }
+                ListenerChain.doCompleteCell(this.context.getListenerCache(), this.context.getSheet(), valueRow, valueCell,
+                        property, index, valueCell.getColumnIndex(), RowType.BODY);
+                ListenerChain.doSetBodyStyle(this.context.getListenerCache(), valueRow, valueCell, property, index, colIndex);
+            } catch (Exception e) {
+                throw new ExcelResolverException(e.getMessage());
+            }
+        }
+        ListenerChain.doCompleteRow(this.context.getListenerCache(), this.context.getSheet(), valueRow, o, index, RowType.BODY);
+    }
+
+    /**
+     * Resolve the field binders of the current excel fields and find out which columns can be written directly.
+     * A column is written directly when it is a numeric primitive that nothing can observe or change before
+     * it reaches the cell: no data converter, no auto merge, no EL expression and no cell write listener
+     *
+     * @param classBinder Binding plan of the current excel entity
+     * @param binders     Field binders of the current excel fields, filled by this method
+     * @return Whether each column can be written directly
+     */
+    private boolean[] directColumns(ExcelClassBinder classBinder, ExcelFieldBinder[] binders) {
+        boolean[] directs = new boolean[binders.length];
+        boolean observed = false;
+        for (ExcelListener listener : this.context.getListenerCache()) {
+            if (listener instanceof ExcelCellWriteListener) {
+                observed = true;
+                break;
+            }
+        }
+        for (int colIndex = 0; colIndex < binders.length; colIndex++) {
+            binders[colIndex] = classBinder.getBinder(this.context.getExcelFields().get(colIndex));
+            if (binders[colIndex].getExportExpression() != null) {
+                observed = true;
+            }
+        }
+        for (int colIndex = 0; colIndex < binders.length; colIndex++) {
+            ExcelFieldProperty property = this.context.getFieldProperties().get(colIndex);
+            directs[colIndex] = !observed && binders[colIndex].isNumeric() && !property.isAutoMerge()
+                    && property.getConvert() == DefaultDataConvert.class;
+        }
+        return directs;
+    }
+
+    /**
+     * Rows of a block and their cell values being computed
+     */
+    private static final class RenderBlock {
+        private final List<Object> rows;
+        private final Object[][] values;
+        private final List<ForkJoinTask<?>> tasks;
+
+        RenderBlock(List<Object> rows, Object[][] values, List<ForkJoinTask<?>> tasks) {
+            this.rows = rows;
+            this.values = values;
+            this.tasks = tasks;
+        }
+
+        /**
+         * Wait until the cell values of all rows are computed
+         */
+        void await() {
+            for (ForkJoinTask<?> task : this.tasks) {
+                try {
+                    task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ExcelResolverException("Excel write interrupted");
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
                     }
-                    ListenerChain.doCompleteCell(this.context.getListenerCache(), this.context.getSheet(), valueRow, valueCell,
-                            property, index, valueCell.getColumnIndex(), RowType.BODY);
-                    ListenerChain.doSetBodyStyle(this.context.getListenerCache(), valueRow, valueCell, property, index, colIndex);
-                } catch (Exception e) {
-                    throw new ExcelResolverException(e.getMessage());
+                    throw new ExcelResolverException(e.getCause().getMessage());
                 }
             }
-            ListenerChain.doCompleteRow(this.context.getListenerCache(), this.context.getSheet(), valueRow, o, index, RowType.BODY);
+        }
+
+        /**
+         * Stop computing the cell values
+         */
+        void cancel() {
+            for (ForkJoinTask<?> task : this.tasks) {
+                task.cancel(true);
+            }
         }
     }
 }
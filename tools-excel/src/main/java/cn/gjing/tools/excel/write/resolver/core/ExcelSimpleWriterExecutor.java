@@ -10,8 +10,8 @@ import cn.gjing.tools.excel.write.ExcelWriterContext;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -54,13 +54,12 @@ public final class ExcelSimpleWriterExecutor extends ExcelBaseWriteExecutor {
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public void writeBody(List<?> data) {
-        List<List<Object>> data2 = (List<List<Object>>) data;
-        EvaluationContext context = new StandardEvaluationContext();
-        for (int index = 0, dataSize = data.size(); index < dataSize; index++) {
-            List<?> o = data2.get(index);
+    public void writeBody(Iterator<?> data) {
+        EvaluationContext context = this.evaluationContext;
+        for (int index = 0; data.hasNext(); index++) {
+            List<?> o = (List<?>) data.next();
+            boolean last = !data.hasNext();
             ListenerChain.doCreateRowBefore(this.context.getListenerCache(), this.context.getSheet(), index, RowType.BODY);
             Row valueRow = this.context.getSheet().createRow(this.context.getSheet().getPhysicalNumberOfRows());
             valueRow.setHeight(this.context.getBodyHeight());
@@ -75,7 +74,7 @@ public final class ExcelSimpleWriterExecutor extends ExcelBaseWriteExecutor {
                     ExcelUtils.setCellValue(valueCell, value);
                     if (property.isAutoMerge()) {
                         this.autoMergeY(this.createMergeCallback(colIndex, property), valueRow, property.isMergeEmpty(), index,
-                                valueCell.getColumnIndex(), value, o, dataSize, null);
+                                valueCell.getColumnIndex(), value, o, last, null);
                     }
                     ListenerChain.doCompleteCell(this.context.getListenerCache(), this.context.getSheet(), valueRow, valueCell, property
                             , index, valueCell.getColumnIndex(), RowType.BODY);
@@ -0,0 +1,81 @@
+package cn.gjing.tools.excel.metadata.bind;
+
+import com.google.gson.JsonSyntaxException;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gjing
+ **/
+public class ExcelTypeCoercerTest {
+    @Test
+    public void coerceNumericToNumbers() {
+        assertEquals(12, new ExcelTypeCoercer(int.class).coerce(12D));
+        assertEquals(12, new ExcelTypeCoercer(Integer.class).coerce(12D));
+        assertEquals(12L, new ExcelTypeCoercer(long.class).coerce(12D));
+        assertEquals((short) 12, new ExcelTypeCoercer(Short.class).coerce(12D));
+        assertEquals((byte) 12, new ExcelTypeCoercer(byte.class).coerce(12D));
+        assertEquals(1.5D, new ExcelTypeCoercer(Double.class).coerce(1.5D));
+        assertEquals(1.5F, new ExcelTypeCoercer(float.class).coerce(1.5D));
+        assertEquals(new BigDecimal("1.5"), new ExcelTypeCoercer(BigDecimal.class).coerce(1.5D));
+        assertEquals(1.5D, new ExcelTypeCoercer(Object.class).coerce(1.5D));
+        assertEquals(1.5D, new ExcelTypeCoercer(Number.class).coerce(1.5D));
+        assertEquals("12.0", new ExcelTypeCoercer(String.class).coerce(12D));
+    }
+
+    @Test
+    public void rejectNumericOutsideIntegralTypes() {
+        assertThrows(NumberFormatException.class, () -> new ExcelTypeCoercer(int.class).coerce(1.5D));
+        assertThrows(NumberFormatException.class, () -> new ExcelTypeCoercer(int.class).coerce(3E9D));
+        assertThrows(NumberFormatException.class, () -> new ExcelTypeCoercer(byte.class).coerce(200D));
+        assertThrows(NumberFormatException.class, () -> new ExcelTypeCoercer(Short.class).coerce(40000D));
+    }
+
+    @Test
+    public void rejectNumericAsGsonDid() {
+        assertThrows(JsonSyntaxException.class, () -> new ExcelTypeCoercer(boolean.class).coerce(1D));
+        assertThrows(JsonSyntaxException.class, () -> new ExcelTypeCoercer(Boolean.class).coerce(0D));
+        assertThrows(JsonSyntaxException.class, () -> new ExcelTypeCoercer(BigInteger.class).coerce(12D));
+        assertThrows(JsonSyntaxException.class, () -> new ExcelTypeCoercer(Date.class).coerce(43831D));
+        assertThrows(JsonSyntaxException.class, () -> new ExcelTypeCoercer(LocalDate.class).coerce(43831D));
+        assertThrows(JsonSyntaxException.class, () -> new ExcelTypeCoercer(LocalDateTime.class).coerce(43831D));
+    }
+
+    @Test
+    public void coerceNumericToEnumAsNull() {
+        assertNull(new ExcelTypeCoercer(Gender.class).coerce(0D));
+    }
+
+    @Test
+    public void coerceStrings() {
+        assertEquals(12, new ExcelTypeCoercer(int.class).coerce("12"));
+        assertEquals(12, new ExcelTypeCoercer(int.class).coerce("12.0"));
+        assertEquals(12L, new ExcelTypeCoercer(Long.class).coerce("12"));
+        assertEquals(1.5D, new ExcelTypeCoercer(double.class).coerce("1.5"));
+        assertEquals(true, new ExcelTypeCoercer(boolean.class).coerce("true"));
+        assertEquals(new BigDecimal("1.50"), new ExcelTypeCoercer(BigDecimal.class).coerce("1.50"));
+        assertEquals(new BigInteger("12345678901234567890"), new ExcelTypeCoercer(BigInteger.class).coerce("12345678901234567890"));
+        assertEquals(Gender.FEMALE, new ExcelTypeCoercer(Gender.class).coerce("FEMALE"));
+        assertNull(new ExcelTypeCoercer(Gender.class).coerce("OTHER"));
+        assertEquals("abc", new ExcelTypeCoercer(String.class).coerce("abc"));
+        assertNull(new ExcelTypeCoercer(int.class).coerce((String) null));
+    }
+
+    @Test
+    public void rejectStringsAsGsonDid() {
+        assertThrows(NumberFormatException.class, () -> new ExcelTypeCoercer(int.class).coerce("1.5"));
+        assertThrows(JsonSyntaxException.class, () -> new ExcelTypeCoercer(LocalDate.class).coerce("2020-01-01"));
+        assertThrows(JsonSyntaxException.class, () -> new ExcelTypeCoercer(LocalDateTime.class).coerce("2020-01-01T00:00"));
+    }
+
+    private enum Gender {
+        MALE, FEMALE
+    }
+}
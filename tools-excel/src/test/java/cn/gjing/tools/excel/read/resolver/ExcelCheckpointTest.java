@@ -0,0 +1,145 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import cn.gjing.tools.excel.Excel;
+import cn.gjing.tools.excel.ExcelFactory;
+import cn.gjing.tools.excel.ExcelField;
+import cn.gjing.tools.excel.exception.ExcelInitException;
+import cn.gjing.tools.excel.exception.ExcelResolverException;
+import cn.gjing.tools.excel.read.checkpoint.ExcelCheckpointStore;
+import cn.gjing.tools.excel.read.checkpoint.LocalFileCheckpointStore;
+import cn.gjing.tools.excel.read.listener.ExcelBatchReadListener;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gjing
+ **/
+public class ExcelCheckpointTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private File file;
+    private ExcelCheckpointStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        this.file = new File(this.folder.getRoot(), "people.xls");
+        try (HSSFWorkbook workbook = new HSSFWorkbook(); OutputStream outputStream = Files.newOutputStream(this.file.toPath())) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("name");
+            header.createCell(1).setCellValue("age");
+            for (int i = 0; i < 5; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue("n" + i);
+                row.createCell(1).setCellValue(i);
+            }
+            workbook.write(outputStream);
+        }
+        this.store = new LocalFileCheckpointStore(this.folder.newFolder("checkpoints"));
+    }
+
+    @Test
+    public void resumeSkipsCommittedRows() {
+        List<String> first = new ArrayList<>();
+        try (ExcelBindReader<Person> reader = ExcelFactory.createReader(this.file, Person.class)) {
+            reader.checkpoint(this.store, "people")
+                    .addListener(new FailingBatchListener(first, 2))
+                    .read();
+            fail("The second batch should fail");
+        } catch (ExcelResolverException e) {
+            assertEquals(Arrays.asList("n0", "n1"), first);
+        }
+        assertEquals(2, this.store.load("people").getCommitted());
+
+        List<String> second = new ArrayList<>();
+        try (ExcelBindReader<Person> reader = ExcelFactory.createReader(this.file, Person.class)) {
+            reader.checkpoint(this.store, "people")
+                    .addListener(new FailingBatchListener(second, Integer.MAX_VALUE))
+                    .read();
+        }
+        assertEquals(Arrays.asList("n2", "n3", "n4"), second);
+        assertNull(this.store.load("people"));
+    }
+
+    @Test
+    public void completedRangeClearsCheckpoint() {
+        for (int run = 0; run < 2; run++) {
+            List<String> names = new ArrayList<>();
+            try (ExcelBindReader<Person> reader = ExcelFactory.createReader(this.file, Person.class)) {
+                reader.checkpoint(this.store, "range")
+                        .range(1, 3)
+                        .addListener(new FailingBatchListener(names, Integer.MAX_VALUE))
+                        .read();
+            }
+            assertEquals(Arrays.asList("n1", "n2"), names);
+            assertNull(this.store.load("range"));
+        }
+    }
+
+    @Test(expected = ExcelInitException.class)
+    public void checkpointWithoutBatchListenerIsRejected() {
+        try (ExcelBindReader<Person> reader = ExcelFactory.createReader(this.file, Person.class)) {
+            reader.checkpoint(this.store, "people").read();
+        }
+    }
+
+    @Test(expected = ExcelResolverException.class)
+    public void checkpointWithoutFingerprintIsRejected() {
+        try (ExcelBindReader<Person> reader = ExcelFactory.createReader(this.file, Person.class)) {
+            reader.checkpoint(this.store, "people", null);
+        }
+    }
+
+    /**
+     * Records the names of the handed over rows and fails the batch after the given number of batches
+     */
+    private static final class FailingBatchListener implements ExcelBatchReadListener<Person> {
+        private final List<String> names;
+        private final int failAfter;
+        private int batches;
+
+        FailingBatchListener(List<String> names, int failAfter) {
+            this.names = names;
+            this.failAfter = failAfter;
+        }
+
+        @Override
+        public void readBatch(List<Person> batch) {
+            if (++this.batches >= this.failAfter) {
+                throw new IllegalStateException("Batch failed");
+            }
+            for (Person person : batch) {
+                this.names.add(person.name);
+            }
+        }
+
+        @Override
+        public int batchSize() {
+            return 2;
+        }
+    }
+
+    @Excel
+    public static class Person {
+        @ExcelField("name")
+        private String name;
+
+        @ExcelField("age")
+        private int age;
+    }
+}
@@ -0,0 +1,194 @@
+package cn.gjing.tools.excel.read.resolver;
+
+import cn.gjing.tools.excel.read.ExcelReaderContext;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gjing
+ **/
+public class XlsRecordRowSourceTest {
+    private byte[] bytes;
+
+    @Before
+    public void createFile() throws IOException {
+        try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+
+            Sheet sheet = workbook.createSheet("Data");
+            Row head = sheet.createRow(0);
+            String[] names = {"name", "value", "flag", "date", "double", "text", "check"};
+            for (int i = 0; i < names.length; i++) {
+                head.createCell(i).setCellValue(names[i]);
+            }
+            Row first = sheet.createRow(1);
+            first.createCell(0).setCellValue("a");
+            first.createCell(1).setCellValue(1.5);
+            first.createCell(2).setCellValue(true);
+            first.createCell(3).setCellValue(new GregorianCalendar(2020, Calendar.MARCH, 15).getTime());
+            first.getCell(3).setCellStyle(dateStyle);
+            first.createCell(4).setCellFormula("B2*2");
+            first.createCell(5).setCellFormula("A2&\"-\"&A2");
+            first.createCell(6).setCellFormula("C2");
+            first.createCell(7);
+            first.createCell(8);
+            first.createCell(9).setCellErrorValue(FormulaError.NA.getCode());
+            sheet.createRow(2);
+            Row second = sheet.createRow(4);
+            second.createCell(0).setCellValue("name");
+            second.createCell(1).setCellValue(3);
+            second.createCell(2).setCellValue(false);
+            second.createCell(3);
+            second.createCell(4).setCellFormula("1/0");
+            second.createCell(10).setCellValue("far");
+
+            Sheet other = workbook.createSheet("Other");
+            other.createRow(0).createCell(0).setCellValue("a");
+            other.createRow(1).createCell(1).setCellValue(-2);
+
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            // the array record of the formula is written between its formula record and its string record
+            sheet.setArrayFormula("A2&\"!\"", CellRangeAddress.valueOf("L2"));
+            first.getCell(11).setCellValue("a!");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            this.bytes = out.toByteArray();
+        }
+    }
+
+    @Test
+    public void readSameRowsAsWorkbook() throws IOException {
+        try (XlsRecordRowSource records = new XlsRecordRowSource(new POIFSFileSystem(new ByteArrayInputStream(this.bytes)));
+             WorkbookRowSource workbook = this.workbookSource()) {
+            for (String sheetName : new String[]{"Data", "Other"}) {
+                assertTrue(records.hasSheet(sheetName));
+                assertEquals(sheetName, describe(workbook.rows(sheetName)), describe(records.rows(sheetName)));
+            }
+            assertFalse(records.hasSheet("Missing"));
+        }
+    }
+
+    @Test
+    public void readCellsOfEveryRecordType() throws IOException {
+        try (XlsRecordRowSource records = new XlsRecordRowSource(new POIFSFileSystem(new ByteArrayInputStream(this.bytes)))) {
+            List<String> rows = describe(records.rows("Data"));
+            assertEquals(4, rows.size());
+            assertEquals("0: 0=STRING name 1=STRING value 2=STRING flag 3=STRING date 4=STRING double 5=STRING text 6=STRING check", rows.get(0));
+            assertEquals("1: 0=STRING a 1=NUMERIC 1.5 2=BOOLEAN true 3=NUMERIC date " + new GregorianCalendar(2020, Calendar.MARCH, 15).getTimeInMillis()
+                    + " 4=FORMULA NUMERIC 3.0 5=FORMULA STRING a-a 6=FORMULA BOOLEAN true 7=BLANK 8=BLANK 9=ERROR 11=FORMULA STRING a!", rows.get(1));
+            assertEquals("2:", rows.get(2));
+            assertEquals("4: 0=STRING name 1=NUMERIC 3.0 2=BOOLEAN false 3=BLANK 4=FORMULA ERROR 10=STRING far", rows.get(3));
+        }
+    }
+
+    @Test
+    public void readStringResultOfSharedFormula() throws IOException {
+        FormulaRecord formula = new FormulaRecord();
+        formula.setRow(0);
+        formula.setColumn((short) 0);
+        formula.setParsedExpression(new Ptg[0]);
+        formula.setSharedFormula(true);
+        formula.setCachedResultTypeString();
+        StringRecord result = new StringRecord();
+        result.setString("shared");
+        BOFRecord workbookBof = new BOFRecord();
+        workbookBof.setType(BOFRecord.TYPE_WORKBOOK);
+
+        // BIFF8 writes the shared formula record between the formula record of its first cell and the string record
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(workbookBof.serialize());
+        stream.write(new BoundSheetRecord("Shared").serialize());
+        stream.write(EOFRecord.instance.serialize());
+        stream.write(BOFRecord.createSheetBOF().serialize());
+        stream.write(formula.serialize());
+        // shared formula record of the cell A1 with an empty expression
+        stream.write(new byte[]{(byte) 0xBC, 0x04, 10, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        stream.write(result.serialize());
+        stream.write(EOFRecord.instance.serialize());
+        POIFSFileSystem fileSystem = new POIFSFileSystem();
+        fileSystem.createDocument(new ByteArrayInputStream(stream.toByteArray()), "Workbook");
+
+        try (XlsRecordRowSource records = new XlsRecordRowSource(fileSystem)) {
+            assertEquals(Collections.singletonList("0: 0=FORMULA STRING shared"), describe(records.rows("Shared")));
+        }
+    }
+
+    private WorkbookRowSource workbookSource() throws IOException {
+        ExcelReaderContext<Object> context = new ExcelReaderContext<>();
+        context.setWorkbook(new HSSFWorkbook(new ByteArrayInputStream(this.bytes)));
+        return new WorkbookRowSource(context);
+    }
+
+    /**
+     * Describe the cells of each row, the cells of a row source may be reused for the next row
+     */
+    private static List<String> describe(Iterator<? extends RowCells> rows) {
+        List<String> result = new ArrayList<>();
+        while (rows.hasNext()) {
+            RowCells cells = rows.next();
+            StringBuilder builder = new StringBuilder().append(cells.getRowNum()).append(':');
+            for (int c = 0; c < cells.getLastCellNum(); c++) {
+                if (!cells.select(c)) {
+                    continue;
+                }
+                builder.append(' ').append(c).append('=').append(cells.getCellType());
+                switch (cells.getCellType()) {
+                    case NUMERIC:
+                        if (cells.isDateFormatted()) {
+                            builder.append(" date ").append(cells.getDateCellValue().getTime());
+                        } else {
+                            builder.append(' ').append(cells.getNumericCellValue());
+                        }
+                        break;
+                    case STRING:
+                        builder.append(' ').append(cells.getStringCellValue());
+                        break;
+                    case BOOLEAN:
+                        builder.append(' ').append(cells.getBooleanCellValue());
+                        break;
+                    case FORMULA:
+                        CellType result = cells.getCachedFormulaResultType();
+                        builder.append(' ').append(result);
+                        if (result == CellType.NUMERIC) {
+                            builder.append(' ').append(cells.getNumericCellValue());
+                        } else if (result == CellType.STRING) {
+                            builder.append(' ').append(cells.getStringCellValue());
+                        } else if (result == CellType.BOOLEAN) {
+                            builder.append(' ').append(cells.getBooleanCellValue());
+                        }
+                        break;
+                    default:
+                }
+            }
+            result.add(builder.toString());
+        }
+        return result;
+    }
+}
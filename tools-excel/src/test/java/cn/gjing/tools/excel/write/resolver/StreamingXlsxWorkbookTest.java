@@ -0,0 +1,109 @@
+package cn.gjing.tools.excel.write.resolver;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gjing
+ **/
+public class StreamingXlsxWorkbookTest {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final AtomicBoolean opened = new AtomicBoolean();
+
+    private StreamingXlsxWorkbook createWorkbook() {
+        return new StreamingXlsxWorkbook(10, () -> {
+            this.opened.set(true);
+            return this.out;
+        });
+    }
+
+    private static void writeRows(Sheet sheet, int count) {
+        for (int i = 0; i < count; i++) {
+            Row row = sheet.createRow(i);
+            row.createCell(0).setCellValue(sheet.getSheetName() + "-" + i);
+            row.createCell(1).setCellValue(i);
+        }
+    }
+
+    @Test
+    public void streamSheetsIntoZip() throws IOException {
+        StreamingXlsxWorkbook workbook = this.createWorkbook();
+        Sheet first = workbook.createSheet("First");
+        first.setColumnWidth(0, 5000);
+        writeRows(first, 100);
+        assertTrue("the output is opened once rows leave the window", this.opened.get());
+        writeRows(workbook.createSheet("Second"), 25);
+        workbook.finish();
+
+        try (XSSFWorkbook result = new XSSFWorkbook(new ByteArrayInputStream(this.out.toByteArray()))) {
+            assertEquals(2, result.getNumberOfSheets());
+            XSSFSheet sheet = result.getSheet("First");
+            assertEquals(99, sheet.getLastRowNum());
+            assertEquals(5000, sheet.getColumnWidth(0));
+            for (int i = 0; i < 100; i++) {
+                assertEquals("First-" + i, sheet.getRow(i).getCell(0).getStringCellValue());
+                assertEquals(i, sheet.getRow(i).getCell(1).getNumericCellValue(), 0);
+            }
+            sheet = result.getSheet("Second");
+            assertEquals(24, sheet.getLastRowNum());
+            assertEquals("Second-24", sheet.getRow(24).getCell(0).getStringCellValue());
+        }
+    }
+
+    @Test
+    public void openOutputOnFinishWhenRowsFitTheWindow() throws IOException {
+        StreamingXlsxWorkbook workbook = this.createWorkbook();
+        writeRows(workbook.createSheet("Sheet1"), 5);
+        assertFalse(this.opened.get());
+        workbook.finish();
+        try (XSSFWorkbook result = new XSSFWorkbook(new ByteArrayInputStream(this.out.toByteArray()))) {
+            assertEquals(4, result.getSheet("Sheet1").getLastRowNum());
+        }
+    }
+
+    @Test
+    public void disposeAbortsTheZip() {
+        StreamingXlsxWorkbook workbook = this.createWorkbook();
+        writeRows(workbook.createSheet("Sheet1"), 100);
+        assertTrue(workbook.isStarted());
+        workbook.dispose();
+        assertTrue("part of the workbook was sent", workbook.abort());
+        assertFalse("the zip is not finished", hasEndOfCentralDirectory(this.out.toByteArray()));
+        assertThrows(IOException.class, workbook::finish);
+    }
+
+    @Test
+    public void abortAfterRowsOfAStreamedSheet() {
+        StreamingXlsxWorkbook workbook = this.createWorkbook();
+        Sheet first = workbook.createSheet("First");
+        writeRows(first, 20);
+        writeRows(workbook.createSheet("Second"), 20);
+        assertThrows(RuntimeException.class, () -> {
+            for (int i = 20; i < 40; i++) {
+                first.createRow(i).createCell(0).setCellValue(i);
+            }
+        });
+        workbook.dispose();
+        assertFalse(hasEndOfCentralDirectory(this.out.toByteArray()));
+        assertThrows(IOException.class, workbook::finish);
+    }
+
+    private static boolean hasEndOfCentralDirectory(byte[] bytes) {
+        for (int i = 0; i + 3 < bytes.length; i++) {
+            if (bytes[i] == 0x50 && bytes[i + 1] == 0x4b && bytes[i + 2] == 0x05 && bytes[i + 3] == 0x06) {
+                return true;
+            }
+        }
+        return false;
+    }
+}